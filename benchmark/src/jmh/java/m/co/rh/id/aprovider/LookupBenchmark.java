@@ -0,0 +1,84 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import m.co.rh.id.aprovider.test.IServiceA;
+import m.co.rh.id.aprovider.test.IServiceA1;
+import m.co.rh.id.aprovider.test.IServiceB;
+import m.co.rh.id.aprovider.test.MyPojo;
+import m.co.rh.id.aprovider.test.ServiceAImpl;
+import m.co.rh.id.aprovider.test.ServiceBImpl;
+
+/**
+ * Single thread lookup of a root provider for each way a type can be resolved
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LookupBenchmark {
+
+    private CoreProvider mProvider;
+
+    @Setup
+    public void setup() {
+        mProvider = CoreProvider.createProvider(null, (providerRegistry, provider) -> {
+            providerRegistry.register(IServiceA.class, ServiceAImpl::new);
+            providerRegistry.registerLazy(IServiceB.class, () -> new ServiceBImpl(provider.get(IServiceA.class)));
+            providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+            providerRegistry.registerPool(ServiceBImpl.class, () -> new ServiceBImpl(provider.get(IServiceA.class)));
+        });
+        mProvider.get(IServiceB.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mProvider.dispose();
+    }
+
+    @Benchmark
+    public IServiceA getExact() {
+        return mProvider.get(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceB getLazyExact() {
+        return mProvider.get(IServiceB.class);
+    }
+
+    @Benchmark
+    public IServiceA1 getByInterface() {
+        return mProvider.get(IServiceA1.class);
+    }
+
+    /**
+     * Unregistered type, every miss probes the registers again
+     */
+    @Benchmark
+    public Runnable tryGetMiss() {
+        return mProvider.tryGet(Runnable.class);
+    }
+
+    @Benchmark
+    public IServiceB lazyGet() {
+        return mProvider.lazyGet(IServiceB.class).get();
+    }
+
+    @Benchmark
+    public MyPojo factoryGet() {
+        return mProvider.get(MyPojo.class);
+    }
+
+    @Benchmark
+    public ServiceBImpl poolGet() {
+        return mProvider.get(ServiceBImpl.class);
+    }
+}
@@ -0,0 +1,76 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import m.co.rh.id.aprovider.test.IServiceA;
+import m.co.rh.id.aprovider.test.IServiceA1;
+import m.co.rh.id.aprovider.test.MyPojo;
+import m.co.rh.id.aprovider.test.ServiceAImpl;
+
+/**
+ * Lookup from the innermost of a chain of nested providers,
+ * of a type registered at the root and of a type registered in the innermost provider
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NestedLookupBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int depth;
+
+    private CoreProvider mRootProvider;
+    private CoreProvider mInnermostProvider;
+
+    @Setup
+    public void setup() {
+        mRootProvider = CoreProvider.createProvider(null, (providerRegistry, provider) ->
+                providerRegistry.register(IServiceA.class, ServiceAImpl::new));
+        CoreProvider parentProvider = mRootProvider;
+        for (int i = 0; i < depth; i++) {
+            boolean innermost = i == depth - 1;
+            parentProvider = CoreProvider.createNestedProvider("nested" + i, parentProvider, null,
+                    (providerRegistry, provider) -> {
+                        if (innermost) {
+                            providerRegistry.register(MyPojo.class, MyPojo::new);
+                        }
+                    });
+        }
+        mInnermostProvider = parentProvider;
+    }
+
+    @TearDown
+    public void tearDown() {
+        mRootProvider.dispose();
+    }
+
+    @Benchmark
+    public MyPojo getOwn() {
+        return mInnermostProvider.get(MyPojo.class);
+    }
+
+    @Benchmark
+    public IServiceA getFromRoot() {
+        return mInnermostProvider.get(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceA1 getByInterfaceFromRoot() {
+        return mInnermostProvider.get(IServiceA1.class);
+    }
+
+    @Benchmark
+    public Runnable tryGetMiss() {
+        return mInnermostProvider.tryGet(Runnable.class);
+    }
+}
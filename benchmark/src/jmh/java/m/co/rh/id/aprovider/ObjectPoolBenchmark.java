@@ -0,0 +1,89 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+import m.co.rh.id.aprovider.test.MyPojo;
+
+/**
+ * Acquire and release of one pooled type from 1, 4 and 16 threads,
+ * with the shared idle queue only and with a per thread cache in front of it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ObjectPoolBenchmark {
+
+    private CoreProvider mSharedPoolProvider;
+    private CoreProvider mStripedCachePoolProvider;
+
+    @Setup
+    public void setup() {
+        mSharedPoolProvider = CoreProvider.createProvider(null, (providerRegistry, provider) ->
+                providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                        new ProviderPoolConfig<MyPojo>(64)
+                                .setBlockWhenExhausted(true, 0)));
+        mStripedCachePoolProvider = CoreProvider.createProvider(null, (providerRegistry, provider) ->
+                providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                        new ProviderPoolConfig<MyPojo>(64)
+                                .setBlockWhenExhausted(true, 0)
+                                .setStripedCacheSize(2)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        mSharedPoolProvider.dispose();
+        mStripedCachePoolProvider.dispose();
+    }
+
+    private static MyPojo acquireRelease(CoreProvider provider) {
+        MyPojo myPojo = provider.acquire(MyPojo.class);
+        provider.release(MyPojo.class, myPojo);
+        return myPojo;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public MyPojo shared1Thread() {
+        return acquireRelease(mSharedPoolProvider);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MyPojo shared4Threads() {
+        return acquireRelease(mSharedPoolProvider);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public MyPojo shared16Threads() {
+        return acquireRelease(mSharedPoolProvider);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public MyPojo stripedCache1Thread() {
+        return acquireRelease(mStripedCachePoolProvider);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MyPojo stripedCache4Threads() {
+        return acquireRelease(mStripedCachePoolProvider);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public MyPojo stripedCache16Threads() {
+        return acquireRelease(mStripedCachePoolProvider);
+    }
+}
@@ -0,0 +1,73 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import m.co.rh.id.aprovider.test.IServiceA;
+import m.co.rh.id.aprovider.test.IServiceA1;
+import m.co.rh.id.aprovider.test.ServiceAImpl;
+
+/**
+ * Lookup through {@link ProviderKey} compared with lookup by class,
+ * for a root provider and for a nested provider resolving from its parent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProviderKeyBenchmark {
+
+    private CoreProvider mProvider;
+    private CoreProvider mNestedProvider;
+    private ProviderKey<IServiceA> mServiceAKey;
+    private ProviderKey<IServiceA1> mServiceA1Key;
+    private ProviderKey<IServiceA> mNestedServiceAKey;
+
+    @Setup
+    public void setup() {
+        mProvider = CoreProvider.createProvider(null, (providerRegistry, provider) ->
+                providerRegistry.register(IServiceA.class, ServiceAImpl::new));
+        mNestedProvider = CoreProvider.createNestedProvider("nested", mProvider, null,
+                (providerRegistry, provider) -> {
+                });
+        mServiceAKey = mProvider.key(IServiceA.class);
+        mServiceA1Key = mProvider.key(IServiceA1.class);
+        mNestedServiceAKey = mNestedProvider.key(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceA getByClass() {
+        return mProvider.get(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceA getByKey() {
+        return mProvider.get(mServiceAKey);
+    }
+
+    @Benchmark
+    public IServiceA1 getAssignableByClass() {
+        return mProvider.get(IServiceA1.class);
+    }
+
+    @Benchmark
+    public IServiceA1 getAssignableByKey() {
+        return mProvider.get(mServiceA1Key);
+    }
+
+    @Benchmark
+    public IServiceA nestedGetByClass() {
+        return mNestedProvider.get(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceA nestedGetByKey() {
+        return mNestedProvider.get(mNestedServiceAKey);
+    }
+}
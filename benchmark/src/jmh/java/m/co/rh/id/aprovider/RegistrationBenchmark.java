@@ -0,0 +1,58 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a provider with registrations that are never retrieved, the cost paid at application startup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class RegistrationBenchmark {
+
+    // distinct types, registering the same type twice throws
+    private static final Class[] TYPES = {
+            Boolean.class, Byte.class, Character.class, Short.class,
+            Integer.class, Long.class, Float.class, Double.class,
+            String.class, StringBuilder.class, Number.class, Runnable.class,
+            Thread.class, Object.class, Math.class, System.class,
+            java.util.List.class, java.util.ArrayList.class, java.util.LinkedList.class, java.util.Map.class,
+            java.util.HashMap.class, java.util.TreeMap.class, java.util.Set.class, java.util.HashSet.class,
+            java.util.TreeSet.class, java.util.Deque.class, java.util.ArrayDeque.class, java.util.Random.class,
+            java.util.Date.class, java.util.Locale.class, java.util.UUID.class, java.util.Optional.class
+    };
+
+    @Param({"8", "32"})
+    public int registrations;
+
+    @Benchmark
+    public CoreProvider createProviderLazy() {
+        CoreProvider provider = CoreProvider.createProvider(null, (providerRegistry, p) -> {
+            for (int i = 0; i < registrations; i++) {
+                providerRegistry.registerLazy(TYPES[i], () -> null);
+            }
+        });
+        provider.dispose();
+        return provider;
+    }
+
+    @Benchmark
+    public CoreProvider createProviderFactory() {
+        CoreProvider provider = CoreProvider.createProvider(null, (providerRegistry, p) -> {
+            for (int i = 0; i < registrations; i++) {
+                providerRegistry.registerFactory(TYPES[i], () -> null);
+            }
+        });
+        provider.dispose();
+        return provider;
+    }
+}
@@ -0,0 +1,93 @@
+package m.co.rh.id.aprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+import m.co.rh.id.aprovider.test.IServiceA;
+import m.co.rh.id.aprovider.test.ServiceAImpl;
+
+/**
+ * Reads of an already published singleton from many threads,
+ * compared with the previous read path that entered the register monitor on every get
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class SingletonContentionBenchmark {
+
+    private SingletonProviderRegister<IServiceA> mSingletonRegister;
+    private LazySingletonProviderRegister<IServiceA> mLazySingletonRegister;
+    private SynchronizedSingletonProviderRegister<IServiceA> mSynchronizedRegister;
+    private CoreProvider mProvider;
+
+    @Setup
+    public void setup() {
+        mSingletonRegister = new SingletonProviderRegister<>(IServiceA.class, ServiceAImpl::new);
+        mLazySingletonRegister = new LazySingletonProviderRegister<>(IServiceA.class, ServiceAImpl::new);
+        mSynchronizedRegister = new SynchronizedSingletonProviderRegister<>(IServiceA.class, ServiceAImpl::new);
+        mSingletonRegister.get();
+        mLazySingletonRegister.get();
+        mSynchronizedRegister.get();
+        mProvider = CoreProvider.createProvider(null, (providerRegistry, provider) ->
+                providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new));
+        mProvider.get(IServiceA.class);
+    }
+
+    @Benchmark
+    public IServiceA singletonRegisterGet() {
+        return mSingletonRegister.get();
+    }
+
+    @Benchmark
+    public IServiceA lazySingletonRegisterGet() {
+        return mLazySingletonRegister.get();
+    }
+
+    @Benchmark
+    public IServiceA synchronizedRegisterGet() {
+        return mSynchronizedRegister.get();
+    }
+
+    @Benchmark
+    public IServiceA providerLazySingletonGet() {
+        return mProvider.get(IServiceA.class);
+    }
+
+    /**
+     * Baseline, the read path before volatile publication
+     */
+    static class SynchronizedSingletonProviderRegister<I> extends ProviderRegister<I> {
+        private I mValue;
+
+        SynchronizedSingletonProviderRegister(Class<I> type, ProviderValue<I> providerValue) {
+            super(type, providerValue);
+        }
+
+        @Override
+        public ProviderRegisterKind getKind() {
+            return ProviderRegisterKind.SINGLETON;
+        }
+
+        @Override
+        public synchronized I get() {
+            if (mValue == null) {
+                mValue = getProviderValue().get();
+            }
+            return mValue;
+        }
+
+        @Override
+        public void dispose(Object context) {
+            mValue = null;
+        }
+    }
+}
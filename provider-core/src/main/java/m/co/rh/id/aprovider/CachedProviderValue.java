@@ -0,0 +1,25 @@
+package m.co.rh.id.aprovider;
+
+class CachedProviderValue<I> implements ProviderValue<I> {
+    private ProviderValue<I> mProviderValue;
+    private volatile I mInstance;
+
+    public CachedProviderValue(ProviderValue<I> providerValue) {
+        mProviderValue = providerValue;
+    }
+
+    @Override
+    public I get() {
+        I instance = mInstance;
+        if (instance == null) {
+            synchronized (this) {
+                instance = mInstance;
+                if (instance == null) {
+                    instance = mProviderValue.get();
+                    mInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+}
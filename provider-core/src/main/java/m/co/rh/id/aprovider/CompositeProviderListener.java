@@ -0,0 +1,33 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Notify several listeners in order
+ */
+class CompositeProviderListener implements ProviderListener {
+    private ProviderListener[] mListeners;
+
+    CompositeProviderListener(ProviderListener[] listeners) {
+        mListeners = listeners;
+    }
+
+    @Override
+    public void onResolve(Class<?> type, boolean found, long nanos) {
+        for (ProviderListener listener : mListeners) {
+            listener.onResolve(type, found, nanos);
+        }
+    }
+
+    @Override
+    public void onCreate(Class<?> type, ProviderRegisterKind kind, long nanos) {
+        for (ProviderListener listener : mListeners) {
+            listener.onCreate(type, kind, nanos);
+        }
+    }
+
+    @Override
+    public void onDispose(Class<?> type, long nanos) {
+        for (ProviderListener listener : mListeners) {
+            listener.onDispose(type, nanos);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package m.co.rh.id.aprovider;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Provider interface without Android dependency, to provide components/services/objects
+ * in plain JVM such as server workers or benchmarks. On Android use Provider of the provider module instead
+ */
+public interface CoreProvider {
+    /**
+     * @param context    for this provider, passed to {@link CoreProviderDisposable#dispose(Object)}, may be null
+     * @param rootModule root for this provider
+     */
+    static CoreProvider createProvider(Object context, CoreProviderModule rootModule) {
+        return new DefaultCoreProvider(context, rootModule);
+    }
+
+    /**
+     * Same as {@link #createProvider(Object, CoreProviderModule)}, but async initialization, pool prewarming and disposal
+     * run on the executor configured by executorConfig instead of the shared one
+     *
+     * @param context        for this provider, may be null
+     * @param rootModule     root for this provider
+     * @param executorConfig executor configuration for this provider
+     */
+    static CoreProvider createProvider(Object context, CoreProviderModule rootModule, ProviderExecutorConfig executorConfig) {
+        return new DefaultCoreProvider(context, rootModule, executorConfig, true);
+    }
+
+    /**
+     * Same as {@link #createProvider(Object, CoreProviderModule)}, but the registry is sealed after root module is registered.
+     * The registrations are compacted into immutable lookup table, and further registration is rejected
+     * with IllegalStateException.
+     *
+     * @param context    for this provider, may be null
+     * @param rootModule root for this provider
+     */
+    static CoreProvider createFrozenProvider(Object context, CoreProviderModule rootModule) {
+        DefaultCoreProvider defaultCoreProvider = new DefaultCoreProvider(context, rootModule);
+        defaultCoreProvider.seal();
+        return defaultCoreProvider;
+    }
+
+    /**
+     * @param name           Provider name for debugging purposes
+     * @param parentProvider parent for this provider
+     * @param context        for this provider, may be null
+     * @param rootModule     root for this provider
+     * @return nested provider that will traverse up to parent provider if current provider doesn't have value
+     */
+    static CoreProvider createNestedProvider(String name, CoreProvider parentProvider, Object context, CoreProviderModule rootModule) {
+        return new DefaultCoreNestedProvider(name, parentProvider, context, rootModule);
+    }
+
+    /**
+     * Same as {@link #createNestedProvider(String, CoreProvider, Object, CoreProviderModule)},
+     * but runs on the executor configured by executorConfig instead of the executor of the parent.
+     * Use config with max concurrency to isolate this provider in its own bulkhead
+     *
+     * @param name           Provider name for debugging purposes
+     * @param parentProvider parent for this provider
+     * @param context        for this provider, may be null
+     * @param rootModule     root for this provider
+     * @param executorConfig executor configuration for this provider
+     */
+    static CoreProvider createNestedProvider(String name, CoreProvider parentProvider, Object context, CoreProviderModule rootModule,
+                                             ProviderExecutorConfig executorConfig) {
+        return new DefaultCoreNestedProvider(name, parentProvider, context, rootModule, executorConfig);
+    }
+
+    /**
+     * Get registered object from provider,
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   Object type to be returned
+     * @return object with type I
+     * @throws NullPointerException if not found
+     */
+    <I> I get(Class<I> clazz);
+
+    /**
+     * Same as {@link #get(Class)}, but wait at most timeout for value registered with
+     * {@link CoreProviderRegistry#registerAsync(Class, ProviderValue)} that is still initializing.
+     * The async registration is looked up like {@link #contains(Class)}, without creating values to check their type.
+     * Other values are retrieved with {@link #get(Class)}
+     *
+     * @param clazz   class to be retrieved
+     * @param timeout maximum time to wait
+     * @param unit    unit of timeout
+     * @param <I>     Object type to be returned
+     * @return object with type I
+     * @throws NullPointerException if not found
+     * @throws TimeoutException     if async initialization is not done within timeout
+     */
+    <I> I get(Class<I> clazz, long timeout, TimeUnit unit) throws TimeoutException;
+
+    /**
+     * Get registered object only if it is already created, without creating or waiting for it.
+     * Values that are created on every get, such as factory and pool, always return null.
+     * Looked up like {@link #contains(Class)}, so a miss never creates values to check their type
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   Object type to be returned
+     * @return object with type I, or null if not found or not created yet
+     */
+    <I> I peek(Class<I> clazz);
+
+    /**
+     * Resolve clazz once into a key, to be used with {@link #get(ProviderKey)}.
+     * Same key instance is returned for the same class
+     *
+     * @param clazz class to be resolved
+     * @param <I>   object type of the key
+     * @return key of type I
+     * @throws NullPointerException if not found
+     */
+    <I> ProviderKey<I> key(Class<I> clazz);
+
+    /**
+     * Same as {@link #get(Class)}, but using key from {@link #key(Class)}.
+     * If the key was created by this provider the value is taken directly from the resolved slot,
+     * otherwise this falls back to {@link #get(Class)} of the key type
+     *
+     * @param key key of the object
+     * @param <I> object type to be returned
+     * @return object with type I
+     * @throws NullPointerException if not found
+     */
+    <I> I get(ProviderKey<I> key);
+
+    /**
+     * Same as {@link #get(Class)}, this method doesn't throw NullPointerException or any exception,
+     * just return null value if not found. This method should swallow any exception and return null
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return object with type I
+     */
+    <I> I tryGet(Class<I> clazz);
+
+    /**
+     * Same as {@link #get(Class)}, but return null if not found instead of throwing NullPointerException.
+     * Unlike {@link #tryGet(Class)}, exception thrown while creating the object is not swallowed
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return object with type I, or null if not found
+     */
+    <I> I find(Class<I> clazz);
+
+    /**
+     * Check if clazz is registered in this provider or its parents, as registered type, its super type or alias.
+     * No value is created by this check, so a type that {@link #get(Class)} only finds by probing
+     * the value of factory or pool (see {@link CoreProviderRegistry#setInstanceProbe(boolean)}) is not reported.
+     * Type that is not registered as-is is looked up by scanning the registrations, found result is memoized
+     *
+     * @param clazz class to be checked
+     * @return true if clazz is registered
+     */
+    boolean contains(Class<?> clazz);
+
+    /**
+     * Borrow object registered with {@link CoreProviderRegistry#registerPool(Class, ProviderValue, ProviderPoolConfig)},
+     * the object must be returned with {@link #release(Class, Object)} once it is no longer used.
+     * For other registrations this is the same as {@link #get(Class)}
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return object with type I
+     * @throws NullPointerException  if not found
+     * @throws IllegalStateException if the pool is exhausted
+     */
+    <I> I acquire(Class<I> clazz);
+
+    /**
+     * Return object borrowed with {@link #acquire(Class)} to its pool.
+     * If this provider was disposed, the object is disposed instead.
+     * Does nothing if clazz is not registered as object pool
+     *
+     * @param clazz class the object was acquired with
+     * @param value object to be returned
+     * @param <I>   object type
+     */
+    <I> void release(Class<I> clazz, I value);
+
+    /**
+     * Defer {@link #get(Class)} execution into ProviderValue instance.
+     * To get the actual value call ProviderValue.get(), the first value is kept by the ProviderValue
+     * except for expiring and reclaimable registrations, which are retrieved again on every call
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return ProviderValue with type I
+     * @throws NullPointerException if clazz with type I not found
+     */
+    <I> ProviderValue<I> lazyGet(Class<I> clazz);
+
+    /**
+     * Same as {@link #lazyGet(Class)} with difference not throwing NullPointerException
+     * if the class type is not registered yet.
+     * <p>
+     * This method guarantees to return ProviderValue without exception,
+     * but not guarantee that ProviderValue.get() is not null.
+     * ProviderValue.get() may return null without throwing any exception
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return ProviderValue with type I
+     */
+    <I> ProviderValue<I> tryLazyGet(Class<I> clazz);
+
+    /**
+     * Get registered object without blocking the calling thread.
+     * Value registered with {@link CoreProviderRegistry#registerAsync(Class, ProviderValue)} completes the future
+     * once its async initialization is done, without waiting on a thread.
+     * The async registration is looked up like {@link #contains(Class)}, without creating values to check their type.
+     * Other values already created complete the future immediately, the rest are retrieved with {@link #get(Class)}
+     * on the provider executor so the calling thread never waits for the creation.
+     *
+     * @param clazz class to be retrieved
+     * @param <I>   object type to be returned
+     * @return future of type I, failed with NullPointerException if not found
+     */
+    <I> ProviderFuture<I> getAsync(Class<I> clazz);
+
+    /**
+     * Release memory under memory pressure, usually called from ComponentCallbacks2.onTrimMemory.
+     * {@link ProviderTrimmable#onTrimMemory(int)} is invoked on every created object of this provider,
+     * then instances registered with {@link CoreProviderRegistry#registerReclaimable(Class, ProviderValue, boolean)}
+     * are disposed, least recently used first:
+     * half of them on TRIM_MEMORY_RUNNING_LOW and TRIM_MEMORY_UI_HIDDEN,
+     * all of them on TRIM_MEMORY_RUNNING_CRITICAL, TRIM_MEMORY_BACKGROUND and above.
+     *
+     * @param level same values as android.content.ComponentCallbacks2 TRIM_MEMORY_* constants
+     */
+    void trimMemory(int level);
+
+    /**
+     * Get the context that was supplied when creating this provider.
+     */
+    Object getContext();
+
+    /**
+     * Clear all registered object from provider, and perform disposal/clean up of for all {@link CoreProviderModule}
+     * this provider will not be able to be used once this method is called, new one will need to be instantiated
+     */
+    void dispose();
+}
@@ -0,0 +1,15 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Contract class to indicate that an object is to be disposed when provider is disposed,
+ * for objects of {@link CoreProvider}. On Android implement ProviderDisposable instead
+ */
+public interface CoreProviderDisposable {
+
+    /**
+     * Handle provider.dispose for current component
+     *
+     * @param context the context of the provider, may be null
+     */
+    void dispose(Object context);
+}
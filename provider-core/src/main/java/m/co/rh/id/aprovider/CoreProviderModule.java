@@ -0,0 +1,23 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Interface to allow module to register component/service dependencies to {@link CoreProvider}
+ */
+public interface CoreProviderModule {
+    /**
+     * Entry point to register components/services or CoreProviderModules
+     *
+     * @param providerRegistry registry to register components/services or CoreProviderModule
+     * @param provider         provider to assist in retrieving registered components from other modules
+     */
+    void provides(CoreProviderRegistry providerRegistry, CoreProvider provider);
+
+    /**
+     * Perform cleanup for this module, invoked when {@link CoreProvider} invoke dispose
+     *
+     * @param provider provider to assist in retrieving registered components from other modules
+     */
+    default void dispose(CoreProvider provider) {
+        // Default leave blank
+    }
+}
@@ -0,0 +1,204 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Provider registry to register modules/components/services, without Android dependency
+ */
+public interface CoreProviderRegistry {
+
+    /**
+     * Set this providerRegistry to ignore duplicate type during registration.
+     * Default value should be false.
+     *
+     * @param skip set to true to skip, false to not skip
+     */
+    void setSkipSameType(boolean skip);
+
+    /**
+     * Set whether the provider may call registered values to check their type when looking up
+     * a type that was not registered as-is. This applies to the whole provider.
+     * Default value should be true.
+     * <p>
+     * When disabled, lookups only use the registered types and the types declared through
+     * {@link #registerAlias(Class, Class[])}, so a lookup never instantiates a value just to check its type.
+     *
+     * @param probe set to true to allow probing instances, false to only use declared types
+     */
+    void setInstanceProbe(boolean probe);
+
+    /**
+     * Record creation of every value registered after this call, see {@link ProviderTimelineRecorder}.
+     * Usually set at the beginning of root module so the whole startup is recorded.
+     *
+     * @param timelineRecorder recorder to be used, null to stop recording new registrations
+     */
+    void setTimelineRecorder(ProviderTimelineRecorder timelineRecorder);
+
+    /**
+     * Set listener notified on lookup, creation and disposal of registered values of this provider,
+     * see {@link ProviderListener}. Nested providers created with this provider as parent use the same listener.
+     * Only registrations after this call notify creation, usually set at the beginning of root module.
+     *
+     * @param providerListener listener to be notified, null to remove
+     */
+    void setProviderListener(ProviderListener providerListener);
+
+    /**
+     * Count lookups and measure creation of registered values of this provider, see {@link ProviderMetrics}.
+     * Nested providers created with this provider as parent record to the same metrics.
+     * Only registrations after this call record creation, usually set at the beginning of root module.
+     *
+     * @param metrics metrics to record to, null to stop recording
+     */
+    void setMetrics(ProviderMetrics metrics);
+
+    /**
+     * Register provider module
+     *
+     * @param providerModule module to be registered
+     */
+    void registerModule(CoreProviderModule providerModule);
+
+    /**
+     * Register components/services, example:<br/>
+     * providerRegistrar.register(MyService.class, new MyService());
+     *
+     * @param <I>            type of the object/service
+     * @param clazz          the class of the service usually interface
+     * @param implementation ProviderValue with the actual service implementation,
+     *                       in which will be invoked when ProviderRegistry register this type
+     */
+    <I> void register(Class<I> clazz, ProviderValue<I> implementation);
+
+    /**
+     * Register components/services lazily
+     * Implement {@link CoreProviderDisposable} if you wish for this object to be disposed
+     * when provider.dispose is invoked
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value of the implementation
+     */
+    <I> void registerLazy(Class<I> clazz, ProviderValue<I> providerValue);
+
+    /**
+     * Register components/services lazily, and dispose it after it has not been retrieved for idle timeout.
+     * The next get after that creates new instance.
+     * Implement {@link CoreProviderDisposable} if you wish for this object to be disposed
+     * when it expires or when provider.dispose is invoked.
+     * <p>
+     * Use this for components that are only needed in bursts but hold a lot of memory.
+     * Retrieve it with {@link CoreProvider#get(Class)} every time instead of keeping the instance,
+     * {@link CoreProvider#lazyGet(Class)} keeps the first instance it retrieved.
+     *
+     * @param <I>               type of the object/service
+     * @param clazz             the class of the service, usually interface
+     * @param providerValue     getter value of the implementation
+     * @param idleTimeoutMillis time since the last get before the instance is disposed
+     * @throws IllegalArgumentException if idleTimeoutMillis is not positive
+     */
+    <I> void registerExpiring(Class<I> clazz, ProviderValue<I> providerValue, long idleTimeoutMillis);
+
+    /**
+     * Same as {@link #registerLazy(Class, ProviderValue)}, but the instance can be disposed
+     * by {@link CoreProvider#trimMemory(int)} and is created again on next get.
+     * Implement {@link CoreProviderDisposable} if you wish for this object to be disposed
+     * when it is reclaimed or when provider.dispose is invoked.
+     * <p>
+     * Retrieve it with {@link CoreProvider#get(Class)} every time instead of keeping the instance,
+     * {@link CoreProvider#lazyGet(Class)} keeps the first instance it retrieved.
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value of the implementation
+     * @param softReference true to hold the instance with SoftReference so garbage collector may reclaim it too,
+     *                      instance reclaimed by garbage collector is not disposed
+     */
+    <I> void registerReclaimable(Class<I> clazz, ProviderValue<I> providerValue, boolean softReference);
+
+    /**
+     * Register components/services asynchronously in background thread.
+     * Implement {@link CoreProviderDisposable} if you wish for this object to be disposed
+     * when provider.dispose is invoked
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value of the implementation
+     */
+    <I> void registerAsync(Class<I> clazz, ProviderValue<I> providerValue);
+
+    /**
+     * Same as {@link #registerAsync(Class, ProviderValue)}, but loading is started only after
+     * the async dependencies registered in the same provider are loaded.
+     * Independent async registrations are loaded in parallel, so dependencies retrieved inside providerValue
+     * never block a background thread waiting for another async registration.
+     * Dependencies registered other than async are ignored since they are created on demand.
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value of the implementation
+     * @param dependencies  registered types retrieved by providerValue
+     * @throws IllegalArgumentException on provider start if async dependencies are circular
+     */
+    <I> void registerAsync(Class<I> clazz, ProviderValue<I> providerValue, Class<?>... dependencies);
+
+    /**
+     * Register as factory for components/services object.
+     * new instance will always be returned by using {@link ProviderValue} as factory/producer.
+     * <p>
+     * if an object is produced by this factory and is implementing {@link CoreProviderDisposable}
+     * then {@link CoreProviderDisposable#dispose(Object)} will be invoked on previous object
+     * instantiated by this factory before returning new instance.
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value that acts as producer of new instance
+     */
+    <I> void registerFactory(Class<I> clazz, ProviderValue<I> providerValue);
+
+    /**
+     * Register as pool for components/services object.
+     * new instance will always be returned by using {@link ProviderValue} as factory/producer.
+     * <p>
+     * Almost the same as {@link #registerFactory(Class, ProviderValue)},
+     * the difference is that {@link CoreProviderDisposable#dispose(Object)} will NOT be invoked on previous object instantiated by this.
+     * {@link CoreProviderDisposable#dispose(Object)} will be invoked to ALL INSTANCE at once
+     * only when Provider.dispose is invoked.
+     * <p>
+     * Instances are only weakly referenced by the pool, an instance no longer referenced by the app
+     * can be garbage collected and will not be disposed.
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value that acts as producer of new instance
+     */
+    <I> void registerPool(Class<I> clazz, ProviderValue<I> providerValue);
+
+    /**
+     * Register as bounded object pool for components/services object.
+     * Values are borrowed with {@link CoreProvider#acquire(Class)} and returned with {@link CoreProvider#release(Class, Object)},
+     * a released value is reset with {@link ProviderPoolConfig#setResetHook(ProviderPoolReset)} and handed out again.
+     * {@link CoreProvider#get(Class)} on this type is the same as acquire.
+     * <p>
+     * {@link CoreProviderDisposable#dispose(Object)} will be invoked to idle instances when Provider.dispose is invoked,
+     * and to acquired instances when they are released afterwards.
+     *
+     * @param <I>           type of the object/service
+     * @param clazz         the class of the service, usually interface
+     * @param providerValue getter value that acts as producer of new instance
+     * @param poolConfig    pool size, prewarming and exhaustion behavior
+     */
+    <I> void registerPool(Class<I> clazz, ProviderValue<I> providerValue, ProviderPoolConfig<I> poolConfig);
+
+    /**
+     * Expose already registered type as additional types, example:<br/>
+     * providerRegistry.registerAlias(IServiceA.class, IServiceA1.class, ServiceAImpl.class);
+     * <p>
+     * The aliases are resolved from declared metadata only, the implementation is expected to be
+     * an instance of every alias.
+     *
+     * @param clazz   the registered class of the service
+     * @param aliases other types the service can be retrieved with
+     * @throws IllegalArgumentException if clazz is not registered or an alias is already registered
+     */
+    void registerAlias(Class<?> clazz, Class<?>... aliases);
+}
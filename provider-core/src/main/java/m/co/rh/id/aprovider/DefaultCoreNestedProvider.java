@@ -0,0 +1,247 @@
+package m.co.rh.id.aprovider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Nested provider implementation
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class DefaultCoreNestedProvider extends DefaultCoreProvider {
+    private String mName;
+    private CoreProvider mParentProvider;
+    // types this provider doesn't have, mapped to the register of the ancestor that owns them
+    private ConcurrentMap<Class, ProviderRegister> mParentRegisterIndex = new ConcurrentHashMap<>();
+    // registry version of the hierarchy mParentRegisterIndex was resolved with
+    private volatile long mParentRegistryVersion;
+
+    DefaultCoreNestedProvider(String name, CoreProvider parentProvider, Object context, CoreProviderModule rootModule) {
+        this(name, parentProvider, context, rootModule, parentExecutorConfig(parentProvider));
+    }
+
+    DefaultCoreNestedProvider(String name, CoreProvider parentProvider, Object context, CoreProviderModule rootModule,
+                              ProviderExecutorConfig executorConfig) {
+        super(context, rootModule, executorConfig, false);
+        mName = name;
+        mParentProvider = parentProvider;
+        if (parentProvider instanceof DefaultCoreProvider) {
+            joinRegistryVersion((DefaultCoreProvider) parentProvider);
+        }
+        mParentRegistryVersion = getRegistryVersion();
+        inheritParentObservers();
+        start();
+    }
+
+    DefaultCoreNestedProvider(String name, CoreProvider parentProvider, Object context, CoreProviderModule rootModule, ExecutorService executorService) {
+        this(name, parentProvider, context, rootModule, new ProviderExecutorConfig().setExecutorService(executorService));
+    }
+
+    @Override
+    String getDebugName() {
+        if (mName == null) {
+            return super.getDebugName();
+        }
+        return super.getDebugName() + "[" + mName + "]";
+    }
+
+    /**
+     * Without own configuration nested provider runs on the executors of the parent
+     */
+    private static ProviderExecutorConfig parentExecutorConfig(CoreProvider parentProvider) {
+        if (parentProvider instanceof DefaultCoreProvider) {
+            ProviderExecutorConfig executorConfig = ((DefaultCoreProvider) parentProvider).getInheritedExecutorConfig();
+            if (executorConfig != null) {
+                return executorConfig;
+            }
+        }
+        return new ProviderExecutorConfig();
+    }
+
+    @Override
+    Object findValue(Class clazz) {
+        // own registration clears the index, so a hit is never shadowed by this provider
+        validateParentRegisterIndex();
+        ProviderRegister parentRegister = mParentRegisterIndex.get(clazz);
+        if (parentRegister != null && !parentRegister.isRemoved()) {
+            recordParentFallback(clazz);
+            return parentRegister.get();
+        }
+        Object result = super.findValue(clazz);
+        if (result == NOT_FOUND) {
+            parentRegister = findParentRegister(clazz);
+            if (parentRegister != null) {
+                recordParentFallback(clazz);
+                return parentRegister.get();
+            }
+            CoreProvider parentProvider = mParentProvider;
+            if (parentProvider != null && !(parentProvider instanceof DefaultCoreProvider)
+                    && parentProvider.contains(clazz)) {
+                recordParentFallback(clazz);
+                return parentProvider.get(clazz);
+            }
+        }
+        return result;
+    }
+
+    private void recordParentFallback(Class clazz) {
+        ProviderMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.recordParentFallback(clazz);
+        }
+    }
+
+    private void inheritParentObservers() {
+        if (mParentProvider instanceof DefaultCoreProvider) {
+            DefaultCoreProvider parentProvider = (DefaultCoreProvider) mParentProvider;
+            ProviderListener providerListener = parentProvider.getProviderListener();
+            if (providerListener != null) {
+                setProviderListener(providerListener);
+            }
+            ProviderMetrics metrics = parentProvider.getMetrics();
+            if (metrics != null) {
+                setMetrics(metrics);
+            }
+            ProviderTimelineRecorder timelineRecorder = parentProvider.getTimelineRecorder();
+            if (timelineRecorder != null) {
+                setTimelineRecorder(timelineRecorder);
+            }
+        }
+    }
+
+    @Override
+    ProviderRegister findRegisterInHierarchy(Class clazz) {
+        ProviderRegister providerRegister = findRegister(clazz);
+        if (providerRegister == null) {
+            providerRegister = findParentRegister(clazz);
+        }
+        return providerRegister;
+    }
+
+    @Override
+    ProviderRegister peekRegisterInHierarchy(Class clazz) {
+        ProviderRegister providerRegister = peekRegister(clazz);
+        if (providerRegister == null) {
+            CoreProvider parentProvider = mParentProvider;
+            if (parentProvider instanceof DefaultCoreProvider) {
+                providerRegister = ((DefaultCoreProvider) parentProvider).peekRegisterInHierarchy(clazz);
+            }
+        }
+        return providerRegister;
+    }
+
+    /**
+     * Clear parent registers resolved before an ancestor registered new type, the new type may take precedence
+     */
+    private void validateParentRegisterIndex() {
+        long registryVersion = getRegistryVersion();
+        if (registryVersion != mParentRegistryVersion) {
+            mParentRegisterIndex.clear();
+            mParentRegistryVersion = registryVersion;
+        }
+    }
+
+    private ProviderRegister findParentRegister(Class clazz) {
+        validateParentRegisterIndex();
+        long parentRegistryVersion = mParentRegistryVersion;
+        ProviderRegister parentRegister = mParentRegisterIndex.get(clazz);
+        if (parentRegister != null) {
+            if (!parentRegister.isRemoved()) {
+                return parentRegister;
+            }
+            // the owner was disposed
+            mParentRegisterIndex.remove(clazz, parentRegister);
+        }
+        CoreProvider parentProvider = mParentProvider;
+        if (parentProvider instanceof DefaultCoreProvider) {
+            parentRegister = ((DefaultCoreProvider) parentProvider).findRegisterInHierarchy(clazz);
+            if (parentRegister != null) {
+                mParentRegisterIndex.put(clazz, parentRegister);
+                if (getRegistryVersion() != parentRegistryVersion) {
+                    // an ancestor registered while resolving, the result may be stale already
+                    mParentRegisterIndex.remove(clazz, parentRegister);
+                }
+            }
+            return parentRegister;
+        }
+        return null;
+    }
+
+    @Override
+    void onRegistryChanged() {
+        super.onRegistryChanged();
+        mParentRegisterIndex.clear();
+    }
+
+    @Override
+    public boolean contains(Class<?> clazz) {
+        if (peekRegisterInHierarchy(clazz) != null) {
+            return true;
+        }
+        CoreProvider parentProvider = mParentProvider;
+        return parentProvider != null && !(parentProvider instanceof DefaultCoreProvider)
+                && parentProvider.contains(clazz);
+    }
+
+    @Override
+    <I> ProviderValue<I> findLazyValue(Class<I> clazz) {
+        ProviderValue<I> result = super.findLazyValue(clazz);
+        if (result == null) {
+            CoreProvider parentProvider = mParentProvider;
+            if (parentProvider instanceof DefaultCoreProvider) {
+                return ((DefaultCoreProvider) parentProvider).findLazyValue(clazz);
+            } else if (parentProvider != null && parentProvider.contains(clazz)) {
+                return parentProvider.lazyGet(clazz);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <I> ProviderFuture<I> getAsync(Class<I> clazz) {
+        CoreProvider foreignParent = findForeignParent(clazz);
+        if (foreignParent != null) {
+            return foreignParent.getAsync(clazz);
+        }
+        return super.getAsync(clazz);
+    }
+
+    @Override
+    public <I> I get(Class<I> clazz, long timeout, TimeUnit unit) throws TimeoutException {
+        CoreProvider foreignParent = findForeignParent(clazz);
+        if (foreignParent != null) {
+            return foreignParent.get(clazz, timeout, unit);
+        }
+        return super.get(clazz, timeout, unit);
+    }
+
+    @Override
+    public <I> I peek(Class<I> clazz) {
+        CoreProvider foreignParent = findForeignParent(clazz);
+        if (foreignParent != null) {
+            return foreignParent.peek(clazz);
+        }
+        return super.peek(clazz);
+    }
+
+    /**
+     * @return parent of other implementation that resolves clazz, null if resolved through registers
+     */
+    private CoreProvider findForeignParent(Class clazz) {
+        CoreProvider parentProvider = mParentProvider;
+        if (parentProvider != null && !(parentProvider instanceof DefaultCoreProvider)
+                && peekRegisterInHierarchy(clazz) == null && parentProvider.contains(clazz)) {
+            return parentProvider;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        super.dispose();
+        mParentProvider = null;
+        mParentRegisterIndex.clear();
+    }
+}
\ No newline at end of file
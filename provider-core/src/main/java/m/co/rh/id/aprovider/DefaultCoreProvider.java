@@ -0,0 +1,1073 @@
+package m.co.rh.id.aprovider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of the provider
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class DefaultCoreProvider implements CoreProvider, CoreProviderRegistry {
+    private static final String TAG = "DefaultCoreProvider";
+    // android.content.ComponentCallbacks2 trim levels
+    private static final int TRIM_MEMORY_RUNNING_LOW = 10;
+    private static final int TRIM_MEMORY_RUNNING_CRITICAL = 15;
+    private static final int TRIM_MEMORY_BACKGROUND = 40;
+    // sentinel for lookup miss, so a miss doesn't need to throw
+    static final Object NOT_FOUND = new Object();
+
+    private Object mContext;
+    // registers in insertion order, replaced as a whole on every registration so readers iterate
+    // a consistent snapshot without locking. Empty once disposed
+    private volatile ProviderRegister[] mRegisters;
+    // exact type index, Class equality is identity so a hit is a single hash probe.
+    // Once sealed this is replaced by immutable table that also holds the super types
+    private volatile Map<Class, ProviderRegister> mRegisterIndex;
+    // memoized result of the insertion-order scan for types that are not registered as-is
+    private ConcurrentMap<Class, ProviderRegister> mAssignableIndex;
+    // same as mAssignableIndex but without probing values that are not created yet
+    private ConcurrentMap<Class, ProviderRegister> mPeekIndex;
+    // canonical lazyGet/tryLazyGet handles for types that always resolve to the same instance
+    private ConcurrentMap<Class, ProviderValue> mLazyValueIndex;
+    private ConcurrentMap<Class, ProviderValue> mTryLazyValueIndex;
+    // registers resolved for ProviderKey, copy-on-write so a read is a plain array index
+    private volatile ProviderRegister[] mKeySlots;
+    // registry version mKeySlots were resolved with, slots are cleared once it differs
+    private volatile long mKeySlotsVersion;
+    // shared by the whole provider hierarchy and incremented on every registration in any of them,
+    // nested providers compare it to detect change of their ancestors
+    private AtomicLong mRegistryVersion;
+    private ConcurrentMap<Class, ProviderKey> mKeyIndex;
+    private List<CoreProviderModule> mModuleList;
+    private List<LazyFutureProviderRegister> mAsyncRegisterList;
+    // object pools kept after dispose, values acquired before dispose are disposed by their pool once released
+    private List<ObjectPoolProviderRegister> mDisposedPoolList;
+    private ExecutorService mExecutorService;
+    // runs async initialization and pool prewarming, same as mExecutorService unless priority differs
+    private ExecutorService mAsyncExecutorService;
+    // dedicated pools are shut down on dispose
+    private boolean mOwnsExecutors;
+    private CoreProviderModule mRootModule;
+    private volatile boolean mIsDisposed;
+    private volatile boolean mIsSealed;
+
+    private boolean skipSameType;
+    private boolean instanceProbe = true;
+    private ProviderTimelineRecorder mTimelineRecorder;
+    private ProviderListener mProviderListener;
+    private ProviderMetrics mMetrics;
+    // combines provider listener, timeline recorder and metrics, null if none is set
+    private ProviderListener mListener;
+
+    DefaultCoreProvider(Object context, CoreProviderModule rootModule) {
+        this(context, rootModule, new ProviderExecutorConfig(), true);
+    }
+
+    DefaultCoreProvider(Object context, CoreProviderModule rootModule, boolean autoStart) {
+        this(context, rootModule, new ProviderExecutorConfig(), autoStart);
+    }
+
+    DefaultCoreProvider(Object context, CoreProviderModule rootModule, ExecutorService executorService) {
+        this(context, rootModule, executorService, true);
+    }
+
+    DefaultCoreProvider(Object context, CoreProviderModule rootModule, ExecutorService executorService, boolean autoStart) {
+        this(context, rootModule, new ProviderExecutorConfig().setExecutorService(executorService), autoStart);
+    }
+
+    DefaultCoreProvider(Object context, CoreProviderModule rootModule, ProviderExecutorConfig executorConfig, boolean autoStart) {
+        mContext = context;
+        mRegisters = new ProviderRegister[0];
+        mRegisterIndex = new ConcurrentHashMap<>();
+        mAssignableIndex = new ConcurrentHashMap<>();
+        mPeekIndex = new ConcurrentHashMap<>();
+        mLazyValueIndex = new ConcurrentHashMap<>();
+        mTryLazyValueIndex = new ConcurrentHashMap<>();
+        mKeySlots = new ProviderRegister[0];
+        mRegistryVersion = new AtomicLong();
+        mKeyIndex = new ConcurrentHashMap<>();
+        addRegister(new SingletonProviderRegister(getRegistryType(), () -> this));
+        mModuleList = Collections.synchronizedList(new ArrayList<>());
+        mAsyncRegisterList = Collections.synchronizedList(new ArrayList<>());
+        mExecutorService = executorConfig.createExecutorService();
+        mAsyncExecutorService = executorConfig.createAsyncExecutorService(mExecutorService);
+        mOwnsExecutors = executorConfig.isDedicated();
+        mRootModule = rootModule;
+        if (autoStart) {
+            start();
+        }
+    }
+
+    private Object getValue(Class clazz) {
+        ProviderRegister providerRegister = mRegisterIndex.get(clazz);
+        if (providerRegister != null) {
+            return providerRegister.get();
+        }
+        return null;
+    }
+
+    /**
+     * Entry of every lookup by type, {@link #findValue(Class)} is the overridable part
+     */
+    private Object lookupValue(Class clazz) {
+        ProviderListener listener = mListener;
+        if (listener == null) {
+            return findValue(clazz);
+        }
+        long startNanos = System.nanoTime();
+        Object result = findValue(clazz);
+        listener.onResolve(clazz, result != NOT_FOUND, System.nanoTime() - startNanos);
+        return result;
+    }
+
+    @Override
+    public <I> I get(Class<I> clazz) {
+        Object result = lookupValue(clazz);
+        if (result == NOT_FOUND) {
+            throw new ProviderNullPointerException(clazz.getName() + " not found");
+        }
+        return (I) result;
+    }
+
+    @Override
+    public <I> I acquire(Class<I> clazz) {
+        ProviderRegister providerRegister = findRegisterInHierarchy(clazz);
+        if (providerRegister instanceof ObjectPoolProviderRegister) {
+            return ((ObjectPoolProviderRegister<I>) providerRegister).acquire();
+        }
+        return get(clazz);
+    }
+
+    @Override
+    public <I> void release(Class<I> clazz, I value) {
+        ProviderRegister providerRegister;
+        if (mIsDisposed) {
+            providerRegister = findDisposedPool(clazz);
+        } else {
+            providerRegister = findRegisterInHierarchy(clazz);
+        }
+        if (providerRegister instanceof ObjectPoolProviderRegister) {
+            ((ObjectPoolProviderRegister<I>) providerRegister).release(value);
+        }
+    }
+
+    private List<ObjectPoolProviderRegister> collectObjectPools() {
+        List<ObjectPoolProviderRegister> poolList = null;
+        for (ProviderRegister providerRegister : mRegisters) {
+            if (providerRegister instanceof ObjectPoolProviderRegister) {
+                if (poolList == null) {
+                    poolList = new ArrayList<>();
+                }
+                poolList.add((ObjectPoolProviderRegister) providerRegister);
+            }
+        }
+        return poolList;
+    }
+
+    private ProviderRegister findDisposedPool(Class clazz) {
+        List<ObjectPoolProviderRegister> disposedPoolList = mDisposedPoolList;
+        if (disposedPoolList != null) {
+            for (ObjectPoolProviderRegister poolRegister : disposedPoolList) {
+                if (poolRegister.isAssignableTo(clazz)) {
+                    return poolRegister;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <I> I get(Class<I> clazz, long timeout, TimeUnit unit) throws TimeoutException {
+        ProviderRegister providerRegister = peekRegisterInHierarchy(clazz);
+        if (providerRegister instanceof LazyFutureProviderRegister && !providerRegister.isRemoved()) {
+            return ((LazyFutureProviderRegister<I>) providerRegister).get(timeout, unit);
+        }
+        return get(clazz);
+    }
+
+    @Override
+    public <I> I peek(Class<I> clazz) {
+        ProviderRegister providerRegister = peekRegisterInHierarchy(clazz);
+        if (providerRegister == null || providerRegister.isRemoved()) {
+            return null;
+        }
+        return (I) providerRegister.peekValue();
+    }
+
+    @Override
+    public <I> ProviderKey<I> key(Class<I> clazz) {
+        ProviderKey<I> key = mKeyIndex.get(clazz);
+        if (key == null) {
+            key = createKey(clazz);
+        }
+        return key;
+    }
+
+    private synchronized <I> ProviderKey<I> createKey(Class<I> clazz) {
+        ProviderKey<I> key = mKeyIndex.get(clazz);
+        if (key != null) {
+            return key;
+        }
+        long registryVersion = getRegistryVersion();
+        ProviderRegister providerRegister = findRegisterInHierarchy(clazz);
+        if (providerRegister == null && !contains(clazz)) {
+            throw new ProviderNullPointerException(clazz.getName() + " not found");
+        }
+        ProviderRegister[] keySlots = validateKeySlots(registryVersion);
+        ProviderRegister[] newKeySlots = Arrays.copyOf(keySlots, keySlots.length + 1);
+        if (mKeySlotsVersion == registryVersion && getRegistryVersion() == registryVersion) {
+            newKeySlots[keySlots.length] = providerRegister;
+        }
+        key = new ProviderKey<>(this, clazz, keySlots.length);
+        mKeySlots = newKeySlots;
+        mKeyIndex.put(clazz, key);
+        return key;
+    }
+
+    @Override
+    public <I> I get(ProviderKey<I> key) {
+        long registryVersion = getRegistryVersion();
+        ProviderRegister[] keySlots = mKeySlotsVersion == registryVersion ?
+                mKeySlots : validateKeySlots(registryVersion);
+        if (key.mProvider == this && keySlots != null) {
+            ProviderRegister providerRegister = keySlots[key.mSlot];
+            if (providerRegister == null || providerRegister.isRemoved()) {
+                providerRegister = findRegisterInHierarchy(key.mType);
+                if (providerRegister != null) {
+                    updateKeySlot(key.mSlot, providerRegister, registryVersion);
+                }
+            }
+            if (providerRegister != null && !providerRegister.isRemoved()) {
+                ProviderListener listener = mListener;
+                if (listener == null) {
+                    return (I) providerRegister.get();
+                }
+                long startNanos = System.nanoTime();
+                I result = (I) providerRegister.get();
+                listener.onResolve(key.mType, true, System.nanoTime() - startNanos);
+                return result;
+            }
+        }
+        return get(key.mType);
+    }
+
+    /**
+     * Clear key slots resolved before registration anywhere in the hierarchy, the new type may take precedence
+     *
+     * @return key slots valid for registryVersion
+     */
+    private synchronized ProviderRegister[] validateKeySlots(long registryVersion) {
+        ProviderRegister[] keySlots = mKeySlots;
+        // versions only grow, slots already cleared for a newer version stay
+        if (keySlots != null && mKeySlotsVersion < registryVersion) {
+            keySlots = new ProviderRegister[keySlots.length];
+            mKeySlots = keySlots;
+            mKeySlotsVersion = registryVersion;
+        }
+        return keySlots;
+    }
+
+    /**
+     * @param registryVersion registry version read before providerRegister was resolved
+     */
+    private synchronized void updateKeySlot(int slot, ProviderRegister providerRegister, long registryVersion) {
+        ProviderRegister[] keySlots = mKeySlots;
+        // resolved while something registered, it may be stale already
+        if (keySlots != null && keySlots[slot] != providerRegister
+                && mKeySlotsVersion == registryVersion && getRegistryVersion() == registryVersion) {
+            ProviderRegister[] newKeySlots = keySlots.clone();
+            newKeySlots[slot] = providerRegister;
+            mKeySlots = newKeySlots;
+        }
+    }
+
+    /**
+     * Same as {@link #get(Class)} but return {@link #NOT_FOUND} instead of throwing if not found
+     */
+    Object findValue(Class clazz) {
+        Object result = getValue(clazz);
+        ProviderMetrics metrics = mMetrics;
+        if (result != null) {
+            if (metrics != null) {
+                metrics.recordPath(clazz, ProviderMetrics.ResolvePath.EXACT);
+            }
+            return processObject(result);
+        }
+        ProviderRegister providerRegister = resolveAssignableRegister(clazz);
+        if (providerRegister == null) {
+            return NOT_FOUND;
+        }
+        if (metrics != null) {
+            metrics.recordPath(clazz, providerRegister.isAssignableTo(clazz) ?
+                    ProviderMetrics.ResolvePath.ASSIGNABLE : ProviderMetrics.ResolvePath.INSTANCE_PROBE);
+        }
+        return processObject(providerRegister.get());
+    }
+
+    /**
+     * @return register that get would use for this type, null if not found
+     */
+    ProviderRegister findRegister(Class clazz) {
+        ProviderRegister providerRegister = mRegisterIndex.get(clazz);
+        if (providerRegister == null) {
+            providerRegister = resolveAssignableRegister(clazz);
+        }
+        return providerRegister;
+    }
+
+    /**
+     * Same as {@link #findRegister(Class)} but never creates a value to check its type.
+     * Resolve through registered types and aliases, and instance probe of singletons that are already created
+     *
+     * @return register resolving clazz, null if not found
+     */
+    ProviderRegister peekRegister(Class clazz) {
+        Map<Class, ProviderRegister> registerIndex = mRegisterIndex;
+        ConcurrentMap<Class, ProviderRegister> peekIndex = mPeekIndex;
+        if (registerIndex == null || peekIndex == null) {
+            // disposed
+            return null;
+        }
+        ProviderRegister providerRegister = registerIndex.get(clazz);
+        if (providerRegister == null) {
+            providerRegister = peekIndex.get(clazz);
+            if (providerRegister == null) {
+                providerRegister = findAssignableRegister(clazz, false);
+                if (providerRegister != null) {
+                    peekIndex.put(clazz, providerRegister);
+                }
+            }
+        }
+        return providerRegister;
+    }
+
+    private ProviderRegister resolveAssignableRegister(Class clazz) {
+        ProviderRegister providerRegister = mAssignableIndex.get(clazz);
+        if (providerRegister == null) {
+            providerRegister = findAssignableRegister(clazz, instanceProbe);
+            if (providerRegister != null) {
+                // registers are only appended, so the first match in insertion order stays the first match
+                mAssignableIndex.put(clazz, providerRegister);
+            }
+        }
+        return providerRegister;
+    }
+
+    private ProviderRegister findAssignableRegister(Class clazz, boolean probe) {
+        for (ProviderRegister providerRegister : mRegisters) {
+            if (isAssignableRegister(clazz, providerRegister, probe)) {
+                return providerRegister;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param probe true to probe the value of registers that may create it, false to only probe eager singletons
+     */
+    private boolean isAssignableRegister(Class clazz, ProviderRegister providerRegister, boolean probe) {
+        if (providerRegister.isAssignableTo(clazz)) {
+            return true;
+        }
+        if (probe) {
+            return isProbedByGet(providerRegister) && clazz.isInstance(providerRegister.get());
+        }
+        // singleton is already instantiated, checking its type has no side effect
+        return instanceProbe && providerRegister instanceof SingletonProviderRegister
+                && clazz.isInstance(providerRegister.get());
+    }
+
+    private static boolean isProbedByGet(ProviderRegister providerRegister) {
+        return !(providerRegister instanceof LazyFutureProviderRegister) &&
+                !(providerRegister instanceof LazySingletonProviderRegister) &&
+                !(providerRegister instanceof ExpiringProviderRegister) &&
+                !(providerRegister instanceof ReclaimableProviderRegister) &&
+                !(providerRegister instanceof ObjectPoolProviderRegister);
+    }
+
+    @Override
+    public <I> I tryGet(Class<I> clazz) {
+        try {
+            Object result = lookupValue(clazz);
+            if (result != NOT_FOUND) {
+                return (I) result;
+            }
+        } catch (ProviderNullPointerException e) {
+            // Leave blank, this means get return null, not the service itself throws null pointer
+        } catch (Exception e) {
+            ProviderLog.e(TAG, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * @return register resolving clazz from this provider or its parents, null if not found
+     */
+    ProviderRegister findRegisterInHierarchy(Class clazz) {
+        return findRegister(clazz);
+    }
+
+    /**
+     * Same as {@link #findRegisterInHierarchy(Class)} but never creates a value, see {@link #peekRegister(Class)}
+     */
+    ProviderRegister peekRegisterInHierarchy(Class clazz) {
+        return peekRegister(clazz);
+    }
+
+    @Override
+    public <I> I find(Class<I> clazz) {
+        Object result = lookupValue(clazz);
+        if (result == NOT_FOUND) {
+            return null;
+        }
+        return (I) result;
+    }
+
+    @Override
+    public boolean contains(Class<?> clazz) {
+        return peekRegister(clazz) != null;
+    }
+
+    @Override
+    public <I> ProviderValue<I> lazyGet(Class<I> clazz) {
+        ProviderValue<I> lazyValue = findLazyValue(clazz);
+        if (lazyValue == null) {
+            throw new ProviderNullPointerException(clazz.getName() + " not found");
+        }
+        return lazyValue;
+    }
+
+    /**
+     * Same as {@link #lazyGet(Class)} but return null instead of throwing if not found
+     */
+    <I> ProviderValue<I> findLazyValue(Class<I> clazz) {
+        ProviderValue<I> lazyValue = mLazyValueIndex.get(clazz);
+        if (lazyValue != null) {
+            return lazyValue;
+        }
+        // check existence of the object without processing ProviderRegister
+        ProviderRegister providerRegister = findRegister(clazz);
+        boolean classFound = providerRegister != null;
+        if (!classFound && instanceProbe) {
+            // get skips probing lazy registers, lazyGet also accepts them
+            for (ProviderRegister register : mRegisters) {
+                if (!isProbedByGet(register) && !(register instanceof ObjectPoolProviderRegister)
+                        && clazz.isInstance(register.get())) {
+                    classFound = true;
+                    break;
+                }
+            }
+        }
+        if (!classFound) {
+            return null;
+        }
+        if (providerRegister != null && providerRegister.dropsValue()) {
+            // the value can be disposed and created again, get it from the register every time
+            lazyValue = () -> get(clazz);
+        } else {
+            lazyValue = new CachedProviderValue<>(() -> get(clazz));
+        }
+        if (providerRegister != null && providerRegister.returnsSameInstance()) {
+            ProviderValue<I> existingValue = mLazyValueIndex.putIfAbsent(clazz, lazyValue);
+            if (existingValue != null) {
+                return existingValue;
+            }
+        }
+        return lazyValue;
+    }
+
+    @Override
+    public <I> ProviderFuture<I> getAsync(Class<I> clazz) {
+        ProviderFuture<I> future = new ProviderFuture<>();
+        ProviderRegister providerRegister = peekRegisterInHierarchy(clazz);
+        if (providerRegister instanceof LazyFutureProviderRegister && !providerRegister.isRemoved()) {
+            ((LazyFutureProviderRegister<I>) providerRegister).getAsync(future);
+            return future;
+        }
+        if (providerRegister != null && providerRegister.peekValue() != null) {
+            // already created, nothing to wait for
+            completeWithGet(clazz, future);
+            return future;
+        }
+        // creating the value may block, keep it off the calling thread
+        ExecutorService executorService = mExecutorService;
+        if (executorService != null) {
+            try {
+                executorService.execute(() -> completeWithGet(clazz, future));
+                return future;
+            } catch (RejectedExecutionException e) {
+                ProviderLog.w(TAG, clazz.getName() + " getAsync rejected, retrieved on calling thread: " + e.getMessage());
+            }
+        }
+        completeWithGet(clazz, future);
+        return future;
+    }
+
+    private <I> void completeWithGet(Class<I> clazz, ProviderFuture<I> future) {
+        I value;
+        try {
+            value = get(clazz);
+        } catch (Exception e) {
+            future.complete(null, e);
+            return;
+        }
+        future.complete(value, null);
+    }
+
+    @Override
+    public <I> ProviderValue<I> tryLazyGet(Class<I> clazz) {
+        ProviderValue<I> lazyValue = mTryLazyValueIndex.get(clazz);
+        if (lazyValue != null) {
+            return lazyValue;
+        }
+        ProviderRegister providerRegister = findIndexedRegister(clazz);
+        if (providerRegister != null && providerRegister.dropsValue()) {
+            lazyValue = () -> tryGet(clazz);
+        } else {
+            lazyValue = new CachedProviderValue<>(() -> tryGet(clazz));
+        }
+        // types not registered yet or producing new instances must get their own handle
+        if (providerRegister != null && providerRegister.returnsSameInstance()) {
+            ProviderValue<I> existingValue = mTryLazyValueIndex.putIfAbsent(clazz, lazyValue);
+            if (existingValue != null) {
+                return existingValue;
+            }
+        }
+        return lazyValue;
+    }
+
+    private ProviderRegister findIndexedRegister(Class clazz) {
+        ProviderRegister providerRegister = mRegisterIndex.get(clazz);
+        if (providerRegister == null) {
+            providerRegister = mAssignableIndex.get(clazz);
+        }
+        return providerRegister;
+    }
+
+    @Override
+    public void trimMemory(int level) {
+        ProviderRegister[] registers;
+        synchronized (this) {
+            if (mIsDisposed) {
+                return;
+            }
+            registers = mRegisters;
+        }
+        List<ReclaimableProviderRegister> reclaimableRegisters = new ArrayList<>();
+        for (ProviderRegister providerRegister : registers) {
+            Object value = providerRegister.peekValue();
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof ProviderTrimmable) {
+                try {
+                    ((ProviderTrimmable) value).onTrimMemory(level);
+                } catch (Exception e) {
+                    ProviderLog.e(TAG, providerRegister.getType().getName() + " failed to trim memory: " + e.getMessage());
+                }
+            }
+            if (providerRegister instanceof ReclaimableProviderRegister) {
+                reclaimableRegisters.add((ReclaimableProviderRegister) providerRegister);
+            }
+        }
+        int reclaimCount;
+        if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            reclaimCount = reclaimableRegisters.size();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            reclaimCount = (reclaimableRegisters.size() + 1) / 2;
+        } else {
+            reclaimCount = 0;
+        }
+        if (reclaimCount == 0) {
+            return;
+        }
+        // read once, registers used after their access count was read are kept
+        Map<ReclaimableProviderRegister, Long> accessCounts = new HashMap<>();
+        Map<ReclaimableProviderRegister, Long> lastAccessNanos = new HashMap<>();
+        for (ReclaimableProviderRegister reclaimableRegister : reclaimableRegisters) {
+            accessCounts.put(reclaimableRegister, reclaimableRegister.getAccessCount());
+            lastAccessNanos.put(reclaimableRegister, reclaimableRegister.getLastAccessNanos());
+        }
+        // least recently used first
+        Collections.sort(reclaimableRegisters, (register1, register2) -> {
+            long diff = lastAccessNanos.get(register1) - lastAccessNanos.get(register2);
+            return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+        });
+        Object context = mContext;
+        for (int i = 0; i < reclaimCount; i++) {
+            ReclaimableProviderRegister reclaimableRegister = reclaimableRegisters.get(i);
+            reclaimableRegister.reclaim(context, accessCounts.get(reclaimableRegister));
+        }
+    }
+
+    @Override
+    public Object getContext() {
+        return mContext;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (mIsDisposed) {
+            return;
+        }
+        // set before the flag, so release that sees the provider disposed finds the pools
+        mDisposedPoolList = collectObjectPools();
+        mIsDisposed = true;
+        if (!mModuleList.isEmpty()) {
+            for (CoreProviderModule providerModule : mModuleList) {
+                disposeModule(providerModule);
+            }
+            mModuleList.clear();
+            mModuleList = null;
+        }
+        final Object disposeContext = mContext;
+        final ProviderListener providerListener = mListener;
+        ProviderRegister[] registers = mRegisters;
+        // readers still iterating the old snapshot see the registers marked removed
+        mRegisters = new ProviderRegister[0];
+        for (ProviderRegister entry : registers) {
+            entry.markRemoved();
+            if (providerListener == null) {
+                mExecutorService.execute(() ->
+                        entry.dispose(disposeContext));
+            } else {
+                mExecutorService.execute(() -> {
+                    long startNanos = System.nanoTime();
+                    entry.dispose(disposeContext);
+                    providerListener.onDispose(entry.getType(), System.nanoTime() - startNanos);
+                });
+            }
+        }
+        mRegisterIndex = null;
+        mAssignableIndex.clear();
+        mAssignableIndex = null;
+        mPeekIndex.clear();
+        mPeekIndex = null;
+        mLazyValueIndex.clear();
+        mLazyValueIndex = null;
+        mTryLazyValueIndex.clear();
+        mTryLazyValueIndex = null;
+        mKeySlots = null;
+        mKeyIndex.clear();
+        mAsyncRegisterList.clear();
+        mAsyncRegisterList = null;
+        if (mOwnsExecutors) {
+            // queued dispose and async initialization still run before the threads stop
+            mExecutorService.shutdown();
+            mAsyncExecutorService.shutdown();
+        }
+        mExecutorService = null;
+        mAsyncExecutorService = null;
+        mRootModule = null;
+        mContext = null;
+    }
+
+    @Override
+    public void setSkipSameType(boolean skip) {
+        skipSameType = skip;
+    }
+
+    @Override
+    public void setInstanceProbe(boolean probe) {
+        checkCanRegister();
+        instanceProbe = probe;
+    }
+
+    @Override
+    public void setTimelineRecorder(ProviderTimelineRecorder timelineRecorder) {
+        checkCanRegister();
+        mTimelineRecorder = timelineRecorder;
+        updateListener();
+    }
+
+    @Override
+    public void setProviderListener(ProviderListener providerListener) {
+        checkCanRegister();
+        mProviderListener = providerListener;
+        updateListener();
+    }
+
+    @Override
+    public void setMetrics(ProviderMetrics metrics) {
+        checkCanRegister();
+        mMetrics = metrics;
+        updateListener();
+    }
+
+    ProviderListener getProviderListener() {
+        return mProviderListener;
+    }
+
+    ProviderMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    ProviderTimelineRecorder getTimelineRecorder() {
+        return mTimelineRecorder;
+    }
+
+    /**
+     * @return config running on the executors of this provider, null if disposed
+     */
+    ProviderExecutorConfig getInheritedExecutorConfig() {
+        ExecutorService executorService = mExecutorService;
+        if (executorService == null) {
+            return null;
+        }
+        return ProviderExecutorConfig.inherit(executorService, mAsyncExecutorService);
+    }
+
+    private void updateListener() {
+        List<ProviderListener> listeners = new ArrayList<>(3);
+        if (mTimelineRecorder != null) {
+            listeners.add(mTimelineRecorder.getListener());
+        }
+        if (mMetrics != null) {
+            listeners.add(mMetrics.getListener());
+        }
+        if (mProviderListener != null) {
+            listeners.add(mProviderListener);
+        }
+        if (listeners.isEmpty()) {
+            mListener = null;
+        } else if (listeners.size() == 1) {
+            mListener = listeners.get(0);
+        } else {
+            mListener = new CompositeProviderListener(listeners.toArray(new ProviderListener[0]));
+        }
+    }
+
+    @Override
+    public void registerModule(CoreProviderModule providerModule) {
+        checkCanRegister();
+        provideModule(providerModule);
+        mModuleList.add(providerModule);
+    }
+
+    /**
+     * Platform provider overrides module hooks to pass its own provider and registry types
+     */
+    void provideModule(CoreProviderModule providerModule) {
+        providerModule.provides(this, this);
+    }
+
+    void disposeModule(CoreProviderModule providerModule) {
+        providerModule.dispose(this);
+    }
+
+    /**
+     * @return name of this provider in timeline spans
+     */
+    String getDebugName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * @return type this provider is registered as, to retrieve the registry inside modules
+     */
+    Class<? extends CoreProviderRegistry> getRegistryType() {
+        return CoreProviderRegistry.class;
+    }
+
+    ProviderValueDisposer getValueDisposer() {
+        return ProviderValueDisposer.CORE;
+    }
+
+    @Override
+    public <I> void register(Class<I> clazz, ProviderValue<I> providerValue) {
+        checkCanRegister();
+        putValue(new SingletonProviderRegister<>(clazz, providerValue));
+    }
+
+    @Override
+    public <I> void registerLazy(Class<I> clazz, ProviderValue<I> providerValue) {
+        checkCanRegister();
+        putValue(new LazySingletonProviderRegister<>(clazz, providerValue));
+    }
+
+    @Override
+    public <I> void registerExpiring(Class<I> clazz, ProviderValue<I> providerValue, long idleTimeoutMillis) {
+        checkCanRegister();
+        if (idleTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("idleTimeoutMillis must be positive");
+        }
+        putValue(new ExpiringProviderRegister<>(clazz, providerValue, idleTimeoutMillis, mExecutorService, mContext));
+    }
+
+    @Override
+    public <I> void registerReclaimable(Class<I> clazz, ProviderValue<I> providerValue, boolean softReference) {
+        checkCanRegister();
+        putValue(new ReclaimableProviderRegister<>(clazz, providerValue, softReference));
+    }
+
+    @Override
+    public <I> void registerAsync(Class<I> clazz, ProviderValue<I> providerValue) {
+        registerAsync(clazz, providerValue, new Class[0]);
+    }
+
+    @Override
+    public <I> void registerAsync(Class<I> clazz, ProviderValue<I> providerValue, Class<?>... dependencies) {
+        checkCanRegister();
+        LazyFutureProviderRegister providerRegister =
+                new LazyFutureProviderRegister(clazz, providerValue, mAsyncExecutorService, dependencies);
+        boolean registered = putValue(providerRegister);
+        if (registered) {
+            mAsyncRegisterList.add(providerRegister);
+        }
+    }
+
+    @Override
+    public <I> void registerFactory(Class<I> clazz, ProviderValue<I> providerValue) {
+        checkCanRegister();
+        putValue(new FactoryProviderRegister<>(clazz, providerValue, mContext));
+    }
+
+    @Override
+    public <I> void registerPool(Class<I> clazz, ProviderValue<I> providerValue) {
+        checkCanRegister();
+        putValue(new PoolProviderRegister<>(clazz, providerValue, mExecutorService));
+    }
+
+    @Override
+    public <I> void registerPool(Class<I> clazz, ProviderValue<I> providerValue, ProviderPoolConfig<I> poolConfig) {
+        checkCanRegister();
+        ObjectPoolProviderRegister<I> providerRegister =
+                new ObjectPoolProviderRegister<>(clazz, providerValue, poolConfig, mAsyncExecutorService, mContext);
+        if (putValue(providerRegister)) {
+            providerRegister.prewarm();
+        }
+    }
+
+    @Override
+    public void registerAlias(Class<?> clazz, Class<?>... aliases) {
+        checkCanRegister();
+        ProviderRegister providerRegister = mRegisterIndex.get(clazz);
+        if (providerRegister == null) {
+            throw new IllegalArgumentException(clazz.getName() + " is not registered");
+        }
+        for (Class alias : aliases) {
+            if (mRegisterIndex.containsKey(alias)) {
+                if (skipSameType) {
+                    ProviderLog.w(TAG, "Skipping alias " + alias.getName());
+                    continue;
+                }
+                throw new IllegalArgumentException("Duplicate " + alias.getName() + " found");
+            }
+            providerRegister.addExposedType(alias);
+            mRegisterIndex.put(alias, providerRegister);
+        }
+        onRegistryChanged();
+    }
+
+    /**
+     * @return number of registrations in the hierarchy of this provider, changes whenever any of them registers
+     */
+    long getRegistryVersion() {
+        return mRegistryVersion.get();
+    }
+
+    /**
+     * Share registry version of parentProvider, must be invoked before anything is registered to this provider
+     */
+    void joinRegistryVersion(DefaultCoreProvider parentProvider) {
+        mRegistryVersion = parentProvider.mRegistryVersion;
+    }
+
+    /**
+     * Invoked after new type is registered to this provider.
+     * Key slots compare the registry version on next get and are resolved again,
+     * a key resolved concurrently is never written back with the new version
+     */
+    synchronized void onRegistryChanged() {
+        mRegistryVersion.incrementAndGet();
+    }
+
+    private void checkCanRegister() {
+        if (mIsDisposed) {
+            throw new IllegalStateException("This provider was disposed, please create new instance");
+        }
+        if (mIsSealed) {
+            throw new IllegalStateException("This provider was sealed, no more registration allowed");
+        }
+    }
+
+    private <I> I processObject(Object result) {
+        if (result instanceof ProviderRegister) {
+            return (I) ((ProviderRegister) result).get();
+        }
+        return (I) result;
+    }
+
+    private <I> boolean putValue(ProviderRegister<I> implementation) {
+        Class clazz = implementation.getType();
+        boolean added;
+        ProviderListener providerListener = mListener;
+        if (providerListener != null) {
+            ProviderValue<I> providerValue = implementation.getProviderValue();
+            ProviderRegisterKind kind = implementation.getKind();
+            implementation.setProviderValue(() -> {
+                long startNanos = System.nanoTime();
+                I value = providerValue.get();
+                providerListener.onCreate(clazz, kind, System.nanoTime() - startNanos);
+                return value;
+            });
+        }
+        if (mTimelineRecorder != null) {
+            implementation.setProviderValue(mTimelineRecorder.trace(clazz, implementation.getKind(),
+                    implementation.getProviderValue()));
+        }
+        implementation.setMetrics(mMetrics);
+        implementation.setValueDisposer(getValueDisposer());
+        if (implementation instanceof SingletonProviderRegister) {
+            implementation.get();
+        }
+        added = addRegister(implementation);
+        if (added) {
+            onRegistryChanged();
+            return true;
+        } else {
+            if (skipSameType) {
+                ProviderLog.w(TAG, "Skipping " + clazz.getName());
+            } else {
+                throw new IllegalArgumentException("Duplicate " + clazz.getName() + " found");
+            }
+            return false;
+        }
+    }
+
+    private synchronized boolean addRegister(ProviderRegister providerRegister) {
+        if (mRegisterIndex.containsKey(providerRegister.getType())) {
+            // type was already exposed as alias of another register
+            return false;
+        }
+        ProviderRegister[] registers = mRegisters;
+        for (ProviderRegister existing : registers) {
+            if (existing.equals(providerRegister)) {
+                return false;
+            }
+        }
+        ProviderRegister[] newRegisters = Arrays.copyOf(registers, registers.length + 1);
+        newRegisters[registers.length] = providerRegister;
+        mRegisterIndex.put(providerRegister.getType(), providerRegister);
+        mRegisters = newRegisters;
+        return true;
+    }
+
+    /**
+     * Compact the registry into immutable lookup table.
+     * Registration is no longer allowed after this is invoked.
+     */
+    synchronized void seal() {
+        checkCanRegister();
+        ProviderRegister[] registers = mRegisters;
+        Map<Class, ProviderRegister> typeIndex = new HashMap<>(mRegisterIndex);
+        // precompute the insertion-order scan for every declared super type
+        for (ProviderRegister providerRegister : registers) {
+            if (instanceProbe && isProbedByGet(providerRegister)
+                    && !(providerRegister instanceof SingletonProviderRegister)) {
+                // types not indexed yet might be resolved by probing this register value,
+                // leave the rest to be resolved on first lookup
+                break;
+            }
+            indexSuperTypes(typeIndex, providerRegister.getType(), providerRegister);
+            Class[] exposedTypes = providerRegister.getExposedTypes();
+            if (exposedTypes != null) {
+                for (Class exposedType : exposedTypes) {
+                    indexSuperTypes(typeIndex, exposedType, providerRegister);
+                }
+            }
+            if (instanceProbe && providerRegister instanceof SingletonProviderRegister) {
+                // singleton is already instantiated, checking its type has no side effect
+                Object value = providerRegister.get();
+                if (value != null) {
+                    indexSuperTypes(typeIndex, value.getClass(), providerRegister);
+                }
+            }
+        }
+        mRegisterIndex = typeIndex;
+        mIsSealed = true;
+    }
+
+    private static void indexSuperTypes(Map<Class, ProviderRegister> typeIndex, Class type, ProviderRegister providerRegister) {
+        if (type == null) {
+            return;
+        }
+        if (!typeIndex.containsKey(type)) {
+            typeIndex.put(type, providerRegister);
+        }
+        indexSuperTypes(typeIndex, type.getSuperclass(), providerRegister);
+        for (Class interfaceType : type.getInterfaces()) {
+            indexSuperTypes(typeIndex, interfaceType, providerRegister);
+        }
+    }
+
+    void start() {
+        long startNanos = System.nanoTime();
+        registerModule(mRootModule);
+        if (!mAsyncRegisterList.isEmpty()) {
+            List<LazyFutureProviderRegister> asyncRegisters = new ArrayList<>(mAsyncRegisterList);
+            mAsyncRegisterList.clear();
+            Map<LazyFutureProviderRegister, List<LazyFutureProviderRegister>> dependencyGraph = new HashMap<>();
+            for (LazyFutureProviderRegister asyncRegister : asyncRegisters) {
+                List<LazyFutureProviderRegister> dependencyRegisters = new ArrayList<>();
+                for (Class dependency : asyncRegister.getDependencies()) {
+                    // other registrations are created on demand, only async ones need to be waited
+                    ProviderRegister dependencyRegister = mRegisterIndex.get(dependency);
+                    if (dependencyRegister instanceof LazyFutureProviderRegister) {
+                        dependencyRegisters.add((LazyFutureProviderRegister) dependencyRegister);
+                    }
+                }
+                dependencyGraph.put(asyncRegister, dependencyRegisters);
+            }
+            Set<LazyFutureProviderRegister> visited = new HashSet<>();
+            for (LazyFutureProviderRegister asyncRegister : asyncRegisters) {
+                checkAsyncDependencyCycle(asyncRegister, dependencyGraph, new HashSet<>(), visited);
+            }
+            for (LazyFutureProviderRegister asyncRegister : asyncRegisters) {
+                for (LazyFutureProviderRegister dependencyRegister : dependencyGraph.get(asyncRegister)) {
+                    asyncRegister.dependsOn(dependencyRegister);
+                }
+            }
+            // registers without dependency start right away, the rest when their last dependency is loaded
+            for (LazyFutureProviderRegister asyncRegister : asyncRegisters) {
+                asyncRegister.startLoadWhenReady();
+            }
+        }
+        if (mTimelineRecorder != null) {
+            mTimelineRecorder.record(getDebugName() + ".start", startNanos, System.nanoTime());
+        }
+    }
+
+    private static void checkAsyncDependencyCycle(LazyFutureProviderRegister asyncRegister,
+                                                  Map<LazyFutureProviderRegister, List<LazyFutureProviderRegister>> dependencyGraph,
+                                                  Set<LazyFutureProviderRegister> visiting,
+                                                  Set<LazyFutureProviderRegister> visited) {
+        if (visited.contains(asyncRegister)) {
+            return;
+        }
+        if (!visiting.add(asyncRegister)) {
+            throw new IllegalArgumentException("Circular async dependency found on " + asyncRegister.getType().getName());
+        }
+        List<LazyFutureProviderRegister> dependencyRegisters = dependencyGraph.get(asyncRegister);
+        if (dependencyRegisters != null) {
+            for (LazyFutureProviderRegister dependencyRegister : dependencyRegisters) {
+                checkAsyncDependencyCycle(dependencyRegister, dependencyGraph, visiting, visited);
+            }
+        }
+        visiting.remove(asyncRegister);
+        visited.add(asyncRegister);
+    }
+}
\ No newline at end of file
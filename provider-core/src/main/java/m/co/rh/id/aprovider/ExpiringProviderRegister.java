@@ -0,0 +1,158 @@
+package m.co.rh.id.aprovider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helper class to register lazy-loaded singleton that is disposed after not being used for idle timeout,
+ * and created again on next get
+ */
+class ExpiringProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "ExpiringProvider";
+
+    // one timer thread shared by every expiring register, it only hands the expiry over to the provider executor
+    private static ScheduledThreadPoolExecutor sScheduledExecutor;
+
+    private static synchronized ScheduledThreadPoolExecutor initScheduledExecutor() {
+        if (sScheduledExecutor == null) {
+            ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "aprovider-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduledExecutor.setKeepAliveTime(10, TimeUnit.SECONDS);
+            scheduledExecutor.allowCoreThreadTimeOut(true);
+            // rescheduled and disposed registers cancel their expiry, don't keep them in the queue until the delay
+            scheduledExecutor.setRemoveOnCancelPolicy(true);
+            sScheduledExecutor = scheduledExecutor;
+        }
+        return sScheduledExecutor;
+    }
+
+    private ExecutorService mExecutorService;
+    private long mIdleTimeoutNanos;
+    private volatile I mValue;
+    private volatile long mLastAccessNanos;
+    // odd while expiry checks and clears the value, get without lock retries under lock when it changes
+    private volatile int mExpirySequence;
+    // guarded by this
+    private Object mContext;
+    private Future<?> mExpiryFuture;
+    private boolean mIsDisposed;
+
+    public ExpiringProviderRegister(Class<I> type, ProviderValue<I> providerValue, long idleTimeoutMillis,
+                                    ExecutorService executorService, Object context) {
+        super(type, providerValue);
+        mIdleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        mExecutorService = executorService;
+        mContext = context;
+    }
+
+    @Override
+    public I peekValue() {
+        return mValue;
+    }
+
+    @Override
+    public boolean dropsValue() {
+        return true;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.EXPIRING;
+    }
+
+    @Override
+    public I get() {
+        mLastAccessNanos = System.nanoTime();
+        int expirySequence = mExpirySequence;
+        I value = mValue;
+        if (value == null || (expirySequence & 1) != 0 || expirySequence != mExpirySequence) {
+            long waitStartNanos = startWait();
+            synchronized (this) {
+                endWait(waitStartNanos);
+                value = mValue;
+                if (value == null) {
+                    value = getProviderValue().get();
+                    mValue = value;
+                    scheduleExpiry(mIdleTimeoutNanos);
+                }
+                mLastAccessNanos = System.nanoTime();
+            }
+        }
+        return value;
+    }
+
+    // must hold this
+    private void scheduleExpiry(long delayNanos) {
+        if (mIsDisposed) {
+            return;
+        }
+        mExpiryFuture = initScheduledExecutor().schedule(() -> {
+            try {
+                mExecutorService.execute(this::checkExpiry);
+            } catch (RejectedExecutionException e) {
+                ProviderLog.w(TAG, getType().getName() + " expiry rejected: " + e.getMessage());
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void checkExpiry() {
+        I expiredValue;
+        Object context;
+        synchronized (this) {
+            expiredValue = mValue;
+            if (mIsDisposed || expiredValue == null) {
+                return;
+            }
+            // marked before reading access time, so get either shows up in it or doesn't take the value without lock
+            mExpirySequence++;
+            try {
+                long idleNanos = System.nanoTime() - mLastAccessNanos;
+                if (idleNanos < mIdleTimeoutNanos) {
+                    // used since scheduled, check again when it could be idle long enough
+                    scheduleExpiry(mIdleTimeoutNanos - idleNanos);
+                    return;
+                }
+                mValue = null;
+                mExpiryFuture = null;
+                context = mContext;
+            } finally {
+                mExpirySequence++;
+            }
+        }
+        disposeQuietly(context, expiredValue);
+    }
+
+    private void disposeQuietly(Object context, I value) {
+        if (isDisposable(value)) {
+            try {
+                disposeValue(value, context);
+            } catch (Exception e) {
+                ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void dispose(Object context) {
+        I value;
+        synchronized (this) {
+            mIsDisposed = true;
+            if (mExpiryFuture != null) {
+                mExpiryFuture.cancel(false);
+                mExpiryFuture = null;
+            }
+            value = mValue;
+            mValue = null;
+            mContext = null;
+        }
+        if (value != null) {
+            disposeQuietly(context, value);
+        }
+    }
+}
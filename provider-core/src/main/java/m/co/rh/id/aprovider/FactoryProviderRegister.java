@@ -0,0 +1,55 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Helper class to register factory
+ */
+class FactoryProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "FactoryProvider";
+
+    private Object mContext;
+    private I mPreviousValue;
+
+    public FactoryProviderRegister(Class<I> type, ProviderValue<I> providerValue, Object context) {
+        super(type, providerValue);
+        mContext = context;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.FACTORY;
+    }
+
+    @Override
+    public I get() {
+        long waitStartNanos = startWait();
+        synchronized (this) {
+            endWait(waitStartNanos);
+            if (mPreviousValue != null) {
+                if (isDisposable(mPreviousValue)) {
+                    try {
+                        disposeValue(mPreviousValue, mContext);
+                    } catch (Exception e) {
+                        ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+                    }
+                }
+            }
+            mPreviousValue = getProviderValue().get();
+            return mPreviousValue;
+        }
+    }
+
+    @Override
+    public synchronized void dispose(Object context) {
+        if (mPreviousValue != null) {
+            if (isDisposable(mPreviousValue)) {
+                try {
+                    disposeValue(mPreviousValue, mContext);
+                } catch (Exception e) {
+                    ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+                }
+            }
+        }
+        mPreviousValue = null;
+        mContext = null;
+    }
+}
@@ -0,0 +1,294 @@
+package m.co.rh.id.aprovider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helper class to register lazy-loaded future singleton to the provider
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class LazyFutureProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "FutureProvider";
+    private static final Class[] NO_DEPENDENCIES = new Class[0];
+
+    private volatile FutureTask<I> mFutureValue;
+    private ExecutorService mExecutorService;
+    private Class[] mDependencies;
+    // registers waiting for this register to be loaded, null once loaded
+    private List<LazyFutureProviderRegister> mDependents;
+    // getAsync results waiting for this register to be loaded, null once loaded
+    private List<ProviderFuture<I>> mPendingFutures;
+    // async registers this one waits for, guarded by mDependentsLock
+    private List<LazyFutureProviderRegister> mDependencyRegisters;
+    private final Object mDependentsLock = new Object();
+    private AtomicInteger mPendingDependencyCount;
+
+    public LazyFutureProviderRegister(Class<I> type, ProviderValue<I> providerValue, ExecutorService executorService) {
+        this(type, providerValue, executorService, NO_DEPENDENCIES);
+    }
+
+    public LazyFutureProviderRegister(Class<I> type, ProviderValue<I> providerValue, ExecutorService executorService,
+                                      Class[] dependencies) {
+        super(type, providerValue);
+        mExecutorService = executorService;
+        mDependencies = dependencies;
+        mDependents = new ArrayList<>();
+        mPendingFutures = new ArrayList<>();
+        mDependencyRegisters = new ArrayList<>();
+        mPendingDependencyCount = new AtomicInteger();
+    }
+
+    @Override
+    public boolean returnsSameInstance() {
+        return true;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.ASYNC;
+    }
+
+    @Override
+    public I get() {
+        FutureTask<I> futureValue = mFutureValue;
+        if (futureValue == null) {
+            // dependencies are loaded first, so claiming the task below doesn't run it before them
+            for (LazyFutureProviderRegister dependency : getPendingDependencies()) {
+                try {
+                    dependency.get();
+                } catch (RuntimeException e) {
+                    // dependents start even if a dependency failed
+                }
+            }
+            futureValue = startLoad();
+        }
+        // claim the task if no thread picked it up yet instead of waiting for a free executor thread,
+        // this is no-op if it is already running or done
+        futureValue.run();
+        try {
+            if (futureValue.isDone()) {
+                return futureValue.get();
+            }
+            // other thread is loading the value
+            long waitStartNanos = startWait();
+            I value = futureValue.get();
+            endWait(waitStartNanos);
+            return value;
+        } catch (Exception e) {
+            ProviderLog.e(TAG, getType().getName() + " throws exception with message: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #get()} but wait at most timeout for the value,
+     * the caller doesn't take over initialization so the wait stays bounded
+     *
+     * @throws TimeoutException if the value is not loaded within timeout
+     */
+    public I get(long timeout, TimeUnit unit) throws TimeoutException {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            FutureTask<I> futureValue = mFutureValue;
+            if (futureValue == null) {
+                // same as getAsync, never start before the dependencies are loaded
+                for (LazyFutureProviderRegister dependency : getPendingDependencies()) {
+                    try {
+                        dependency.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    } catch (RuntimeException e) {
+                        // dependents start even if a dependency failed
+                    }
+                }
+                futureValue = startLoad();
+            }
+            if (futureValue.isDone()) {
+                return futureValue.get();
+            }
+            long waitStartNanos = startWait();
+            I value = futureValue.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            endWait(waitStartNanos);
+            return value;
+        } catch (TimeoutException e) {
+            throw new TimeoutException(getType().getName() + " not loaded within " + unit.toMillis(timeout) + "ms");
+        } catch (Exception e) {
+            ProviderLog.e(TAG, getType().getName() + " throws exception with message: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public I peekValue() {
+        FutureTask<I> futureValue = mFutureValue;
+        if (futureValue != null && futureValue.isDone()) {
+            try {
+                return futureValue.get();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Complete future once the value is loaded without blocking the calling thread.
+     * Loading is started if it is not waiting for dependencies
+     */
+    public void getAsync(ProviderFuture<I> future) {
+        FutureTask<I> futureValue = mFutureValue;
+        if (futureValue == null) {
+            if (mPendingDependencyCount.get() != 0) {
+                // started by the last dependency, onLoaded completes the future
+                synchronized (mDependentsLock) {
+                    if (mPendingFutures != null) {
+                        mPendingFutures.add(future);
+                        return;
+                    }
+                }
+                futureValue = mFutureValue;
+            }
+            if (futureValue == null) {
+                futureValue = startLoad();
+            }
+        }
+        if (!futureValue.isDone()) {
+            synchronized (mDependentsLock) {
+                if (mPendingFutures != null) {
+                    mPendingFutures.add(future);
+                    return;
+                }
+            }
+        }
+        completeFuture(futureValue, future);
+    }
+
+    private void completeFuture(FutureTask<I> futureValue, ProviderFuture<I> future) {
+        try {
+            future.complete(futureValue.get(), null);
+        } catch (ExecutionException e) {
+            future.complete(null, e.getCause());
+        } catch (Exception e) {
+            future.complete(null, e);
+        }
+    }
+
+    /**
+     * @return types declared by {@link CoreProviderRegistry#registerAsync(Class, ProviderValue, Class[])}
+     */
+    public Class[] getDependencies() {
+        return mDependencies;
+    }
+
+    /**
+     * Delay {@link #startLoadWhenReady()} until dependency is loaded
+     */
+    public void dependsOn(LazyFutureProviderRegister dependency) {
+        synchronized (mDependentsLock) {
+            mDependencyRegisters.add(dependency);
+        }
+        mPendingDependencyCount.incrementAndGet();
+        if (!dependency.addDependent(this)) {
+            // already loaded
+            mPendingDependencyCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return dependencies to load before this, empty if none of them is pending
+     */
+    private List<LazyFutureProviderRegister> getPendingDependencies() {
+        if (mPendingDependencyCount.get() == 0) {
+            return Collections.emptyList();
+        }
+        synchronized (mDependentsLock) {
+            return new ArrayList<>(mDependencyRegisters);
+        }
+    }
+
+    private boolean addDependent(LazyFutureProviderRegister dependent) {
+        synchronized (mDependentsLock) {
+            if (mDependents == null) {
+                return false;
+            }
+            mDependents.add(dependent);
+            return true;
+        }
+    }
+
+    /**
+     * Start loading if there is no pending dependency, otherwise it is started by the last dependency
+     */
+    public void startLoadWhenReady() {
+        if (mPendingDependencyCount.get() == 0) {
+            startLoad();
+        }
+    }
+
+    private void onDependencyLoaded() {
+        if (mPendingDependencyCount.decrementAndGet() == 0) {
+            startLoad();
+        }
+    }
+
+    private void onLoaded(FutureTask<I> futureValue) {
+        List<LazyFutureProviderRegister> dependents;
+        List<ProviderFuture<I>> pendingFutures;
+        synchronized (mDependentsLock) {
+            dependents = mDependents;
+            mDependents = null;
+            pendingFutures = mPendingFutures;
+            mPendingFutures = null;
+        }
+        if (pendingFutures != null) {
+            for (ProviderFuture<I> future : pendingFutures) {
+                completeFuture(futureValue, future);
+            }
+        }
+        if (dependents != null) {
+            for (LazyFutureProviderRegister dependent : dependents) {
+                dependent.onDependencyLoaded();
+            }
+        }
+    }
+
+    public synchronized FutureTask<I> startLoad() {
+        FutureTask<I> futureValue = mFutureValue;
+        if (futureValue == null) {
+            futureValue = new FutureTask<I>(() -> getProviderValue().get()) {
+                @Override
+                protected void done() {
+                    // dependents start even if this failed, their own get will surface the failure
+                    onLoaded(this);
+                }
+            };
+            mFutureValue = futureValue;
+            // executor is cleared once disposed
+            if (mExecutorService != null) {
+                mExecutorService.execute(futureValue);
+            }
+        }
+        return futureValue;
+    }
+
+    @Override
+    public synchronized void dispose(Object context) {
+        if (mFutureValue != null) {
+            try {
+                I i = mFutureValue.get();
+                if (isDisposable(i)) {
+                    disposeValue(i, context);
+                }
+            } catch (Exception e) {
+                ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+            }
+        }
+        mFutureValue = null;
+        mExecutorService = null;
+    }
+}
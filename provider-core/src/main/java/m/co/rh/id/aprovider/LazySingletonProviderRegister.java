@@ -0,0 +1,61 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Helper class to register lazy-loaded singleton to the provider
+ */
+class LazySingletonProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "LazySingletonProvider";
+
+    // volatile so published value can be read without entering the monitor
+    private volatile I mValue;
+
+    public LazySingletonProviderRegister(Class<I> type, ProviderValue<I> providerValue) {
+        super(type, providerValue);
+    }
+
+    @Override
+    public boolean returnsSameInstance() {
+        return true;
+    }
+
+    @Override
+    public I peekValue() {
+        return mValue;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.LAZY;
+    }
+
+    @Override
+    public I get() {
+        I value = mValue;
+        if (value == null) {
+            long waitStartNanos = startWait();
+            synchronized (this) {
+                endWait(waitStartNanos);
+                value = mValue;
+                if (value == null) {
+                    value = getProviderValue().get();
+                    mValue = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void dispose(Object context) {
+        if (mValue != null) {
+            if (isDisposable(mValue)) {
+                try {
+                    disposeValue(mValue, context);
+                } catch (Exception e) {
+                    ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+                }
+            }
+        }
+        mValue = null;
+    }
+}
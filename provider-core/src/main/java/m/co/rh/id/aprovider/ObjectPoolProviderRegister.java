@@ -0,0 +1,416 @@
+package m.co.rh.id.aprovider;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Helper class to register object pool, {@link #get()} acquires value from the pool.
+ * <p>
+ * Idle values are kept in a shared lock-free queue, and when striped cache size is configured
+ * also in a fixed number of small striped caches in front of it, each thread uses the stripe picked by its id.
+ * Every created value has its own state marker, so acquire and release only write to the marker of that value
+ * and only acquired values from this pool are taken back.
+ * The monitor of this register is only used to wait when the pool is exhausted.
+ */
+class ObjectPoolProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "ObjectPoolProvider";
+
+    private ProviderPoolConfig<I> mPoolConfig;
+    private ExecutorService mExecutorService;
+    private Object mContext;
+    private ConcurrentLinkedQueue<I> mIdleValues;
+    private AtomicInteger mCreatedCount;
+    private PooledValues mPooledValues;
+    private CacheStripe<I>[] mCacheStripes;
+    private int mCacheStripeMask;
+    // only modified while holding this
+    private volatile int mWaiterCount;
+    private volatile boolean mIsDisposed;
+
+    public ObjectPoolProviderRegister(Class<I> type, ProviderValue<I> providerValue,
+                                      ProviderPoolConfig<I> poolConfig,
+                                      ExecutorService executorService, Object context) {
+        super(type, providerValue);
+        mPoolConfig = poolConfig;
+        mExecutorService = executorService;
+        mContext = context;
+        mIdleValues = new ConcurrentLinkedQueue<>();
+        mCreatedCount = new AtomicInteger();
+        mPooledValues = new PooledValues();
+        int stripedCacheSize = poolConfig.getStripedCacheSize();
+        if (stripedCacheSize > 0) {
+            int stripeCount = ThreadStripes.stripeCount();
+            mCacheStripes = newCacheStripes(stripeCount);
+            for (int i = 0; i < stripeCount; i++) {
+                mCacheStripes[i] = new CacheStripe<>(stripedCacheSize);
+            }
+            mCacheStripeMask = stripeCount - 1;
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <I> CacheStripe<I>[] newCacheStripes(int size) {
+        return new CacheStripe[size];
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.OBJECT_POOL;
+    }
+
+    @Override
+    public I get() {
+        return acquire();
+    }
+
+    /**
+     * Take idle value, or create new one if the pool is not at max size yet
+     *
+     * @throws IllegalStateException if the pool is exhausted or disposed
+     */
+    public I acquire() {
+        checkDisposed();
+        // values cached in other stripes are taken before creating new one, so they don't get stranded
+        I value = pollIdle(true);
+        if (value != null) {
+            mPooledValues.find(value).mState.set(PooledValue.ACQUIRED);
+            return value;
+        }
+        return tryReserve() ? createValue(PooledValue.ACQUIRED) : awaitIdle();
+    }
+
+    private I awaitIdle() {
+        long waitNanos = TimeUnit.MILLISECONDS.toNanos(mPoolConfig.getMaxWaitMillis());
+        long deadline = System.nanoTime() + waitNanos;
+        synchronized (this) {
+            mWaiterCount++;
+            try {
+                while (true) {
+                    checkDisposed();
+                    I value = pollIdle(true);
+                    if (value != null) {
+                        mPooledValues.find(value).mState.set(PooledValue.ACQUIRED);
+                        return value;
+                    }
+                    if (tryReserve()) {
+                        break;
+                    }
+                    if (!mPoolConfig.isBlockWhenExhausted()) {
+                        throw new IllegalStateException(getType().getName() + " pool exhausted");
+                    }
+                    if (waitNanos == 0) {
+                        wait();
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new IllegalStateException(getType().getName() + " pool exhausted");
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(getType().getName() + " interrupted while waiting pool", e);
+            } finally {
+                mWaiterCount--;
+            }
+        }
+        return createValue(PooledValue.ACQUIRED);
+    }
+
+    /**
+     * Return value to the pool, value must not be used by caller after this.
+     * Values not acquired from this pool or already released are ignored
+     */
+    public void release(I value) {
+        if (value == null) {
+            return;
+        }
+        PooledValue pooledValue = mPooledValues.find(value);
+        if (pooledValue == null || !pooledValue.mState.compareAndSet(PooledValue.ACQUIRED, PooledValue.IDLE)) {
+            ProviderLog.e(TAG, getType().getName() + " released value was not acquired from this pool or already released");
+            return;
+        }
+        ProviderPoolReset<I> resetHook = mPoolConfig.getResetHook();
+        if (resetHook != null) {
+            try {
+                resetHook.reset(value);
+            } catch (Exception e) {
+                ProviderLog.e(TAG, getType().getName() + " failed to reset: " + e.getMessage());
+                pooledValue.mState.set(PooledValue.REMOVED);
+                releaseSlot();
+                disposeQuietly(mContext, value);
+                return;
+            }
+        }
+        if (mIsDisposed) {
+            pooledValue.mState.set(PooledValue.REMOVED);
+            disposeQuietly(mContext, value);
+            return;
+        }
+        offerIdle(value, true);
+        if (mIsDisposed) {
+            // raced with dispose, the value might have been added after idle values were drained
+            drainIdle(mContext);
+        } else {
+            signalWaiter();
+        }
+    }
+
+    /**
+     * Create values up to min idle on the provider executor
+     */
+    public void prewarm() {
+        if (mPoolConfig.getMinIdle() == 0) {
+            return;
+        }
+        mExecutorService.execute(() -> {
+            while (!mIsDisposed && mCreatedCount.get() < mPoolConfig.getMinIdle() && tryReserve()) {
+                I value;
+                try {
+                    value = createValue(PooledValue.IDLE);
+                } catch (Exception e) {
+                    ProviderLog.e(TAG, getType().getName() + " failed to prewarm: " + e.getMessage());
+                    return;
+                }
+                offerIdle(value, false);
+                signalWaiter();
+            }
+            if (mIsDisposed) {
+                drainIdle(mContext);
+            }
+        });
+    }
+
+    private void checkDisposed() {
+        if (mIsDisposed) {
+            throw new IllegalStateException(getType().getName() + " pool was disposed");
+        }
+    }
+
+    private boolean tryReserve() {
+        int maxSize = mPoolConfig.getMaxSize();
+        while (true) {
+            int createdCount = mCreatedCount.get();
+            if (createdCount >= maxSize) {
+                return false;
+            }
+            if (mCreatedCount.compareAndSet(createdCount, createdCount + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseSlot() {
+        mCreatedCount.decrementAndGet();
+        signalWaiter();
+    }
+
+    private void signalWaiter() {
+        if (mWaiterCount > 0) {
+            synchronized (this) {
+                notify();
+            }
+        }
+    }
+
+    private I createValue(int state) {
+        I value;
+        try {
+            value = getProviderValue().get();
+        } catch (RuntimeException e) {
+            releaseSlot();
+            throw e;
+        }
+        mPooledValues.add(new PooledValue(value, state));
+        return value;
+    }
+
+    private I pollIdle(boolean includeOtherStripes) {
+        I value;
+        CacheStripe<I> ownStripe = null;
+        if (mCacheStripes != null) {
+            ownStripe = mCacheStripes[ThreadStripes.index(mCacheStripeMask)];
+            value = ownStripe.poll();
+            if (value != null) {
+                return value;
+            }
+        }
+        value = mIdleValues.poll();
+        if (value == null && includeOtherStripes && mCacheStripes != null) {
+            for (CacheStripe<I> cacheStripe : mCacheStripes) {
+                if (cacheStripe == ownStripe) {
+                    continue;
+                }
+                value = cacheStripe.poll();
+                if (value != null) {
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    private void offerIdle(I value, boolean toCacheStripe) {
+        // hand it over through the shared queue when other threads are already waiting
+        if (toCacheStripe && mCacheStripes != null && mWaiterCount == 0
+                && mCacheStripes[ThreadStripes.index(mCacheStripeMask)].offer(value)) {
+            return;
+        }
+        mIdleValues.offer(value);
+    }
+
+    private void drainIdle(Object context) {
+        I value;
+        while ((value = mIdleValues.poll()) != null) {
+            disposeQuietly(context, value);
+        }
+        if (mCacheStripes != null) {
+            for (CacheStripe<I> cacheStripe : mCacheStripes) {
+                while ((value = cacheStripe.poll()) != null) {
+                    disposeQuietly(context, value);
+                }
+            }
+        }
+    }
+
+    private void disposeQuietly(Object context, I value) {
+        if (isDisposable(value)) {
+            try {
+                disposeValue(value, context);
+            } catch (Exception e) {
+                ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void dispose(Object context) {
+        mIsDisposed = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        // acquired values are disposed when they are released
+        drainIdle(context);
+    }
+
+    /**
+     * Small fixed size cache shared by the threads mapped to its stripe, other threads only take from it
+     * when there is no other idle value
+     */
+    private static class CacheStripe<I> {
+        private final AtomicReferenceArray<I> mSlots;
+
+        CacheStripe(int size) {
+            mSlots = new AtomicReferenceArray<>(size);
+        }
+
+        I poll() {
+            for (int i = mSlots.length() - 1; i >= 0; i--) {
+                I value = mSlots.get(i);
+                if (value != null && mSlots.compareAndSet(i, value, null)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        boolean offer(I value) {
+            for (int i = 0; i < mSlots.length(); i++) {
+                if (mSlots.get(i) == null && mSlots.compareAndSet(i, null, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * State marker of one created value, compared by identity so values overriding equals are tracked one by one
+     */
+    private static final class PooledValue {
+        static final int IDLE = 0;
+        static final int ACQUIRED = 1;
+        // disposed by the pool, never taken back
+        static final int REMOVED = 2;
+
+        final Object mValue;
+        final AtomicInteger mState;
+
+        PooledValue(Object value, int state) {
+            mValue = value;
+            mState = new AtomicInteger(state);
+        }
+    }
+
+    /**
+     * Identity hash table of created values, only written when a value is created.
+     * Lookup doesn't lock nor allocate
+     */
+    private static final class PooledValues {
+        private volatile AtomicReferenceArray<PooledValue> mTable = new AtomicReferenceArray<>(8);
+        // entries in mTable including removed ones, guarded by this
+        private int mUsed;
+
+        private static int indexOf(Object value, int mask) {
+            return (System.identityHashCode(value) * 0x9E3779B9 >>> 16) & mask;
+        }
+
+        /**
+         * @return marker of value, null if value wasn't created by this pool
+         */
+        PooledValue find(Object value) {
+            AtomicReferenceArray<PooledValue> table = mTable;
+            int mask = table.length() - 1;
+            for (int i = indexOf(value, mask); ; i = (i + 1) & mask) {
+                PooledValue pooledValue = table.get(i);
+                if (pooledValue == null || pooledValue.mValue == value) {
+                    return pooledValue;
+                }
+            }
+        }
+
+        synchronized void add(PooledValue pooledValue) {
+            AtomicReferenceArray<PooledValue> table = mTable;
+            if ((mUsed + 1) * 2 > table.length()) {
+                // drop removed values while growing, at most half full so lookup always meets an empty slot
+                int liveCount = 0;
+                for (int i = 0; i < table.length(); i++) {
+                    PooledValue existing = table.get(i);
+                    if (existing != null && existing.mState.get() != PooledValue.REMOVED) {
+                        liveCount++;
+                    }
+                }
+                int capacity = 8;
+                while (capacity < (liveCount + 1) * 4) {
+                    capacity <<= 1;
+                }
+                AtomicReferenceArray<PooledValue> newTable = new AtomicReferenceArray<>(capacity);
+                for (int i = 0; i < table.length(); i++) {
+                    PooledValue existing = table.get(i);
+                    if (existing != null && existing.mState.get() != PooledValue.REMOVED) {
+                        insert(newTable, existing);
+                    }
+                }
+                insert(newTable, pooledValue);
+                mUsed = liveCount + 1;
+                mTable = newTable;
+                return;
+            }
+            insert(table, pooledValue);
+            mUsed++;
+        }
+
+        private static void insert(AtomicReferenceArray<PooledValue> table, PooledValue pooledValue) {
+            int mask = table.length() - 1;
+            int i = indexOf(pooledValue.mValue, mask);
+            while (table.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            table.set(i, pooledValue);
+        }
+    }
+}
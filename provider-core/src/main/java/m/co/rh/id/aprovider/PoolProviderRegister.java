@@ -0,0 +1,74 @@
+package m.co.rh.id.aprovider;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Helper class to register pool.
+ * Instances are tracked weakly, so instances no longer referenced by the app can be garbage collected
+ */
+class PoolProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "PoolProvider";
+
+    private ExecutorService mExecutorService;
+    private ReferenceQueue<I> mReferenceQueue;
+    private HashSet<Reference<I>> mPreviousValues;
+
+    public PoolProviderRegister(Class<I> type, ProviderValue<I> providerValue, ExecutorService executorService) {
+        super(type, providerValue);
+        mExecutorService = executorService;
+        mReferenceQueue = new ReferenceQueue<>();
+        mPreviousValues = new HashSet<>();
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.POOL;
+    }
+
+    @Override
+    public I get() {
+        I previousVal = getProviderValue().get();
+        if (previousVal != null) {
+            synchronized (this) {
+                removeCollectedObjects();
+                mPreviousValues.add(new WeakReference<>(previousVal, mReferenceQueue));
+            }
+        }
+        return previousVal;
+    }
+
+    private void removeCollectedObjects() {
+        // only references of collected instances are queued, so this is constant per get on average
+        Reference<? extends I> reference;
+        while ((reference = mReferenceQueue.poll()) != null) {
+            mPreviousValues.remove(reference);
+        }
+    }
+
+    @Override
+    public synchronized void dispose(Object context) {
+        for (Reference<I> reference : mPreviousValues) {
+            I prevValue = reference.get();
+            if (isDisposable(prevValue)) {
+                if (prevValue instanceof ProviderIsDisposed
+                        && ((ProviderIsDisposed) prevValue).isDisposed()) {
+                    continue;
+                }
+                mExecutorService.execute(() -> {
+                    try {
+                        disposeValue(prevValue, context);
+                    } catch (Exception e) {
+                        ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+                    }
+                });
+            }
+        }
+        mPreviousValues = null;
+        mReferenceQueue = null;
+        mExecutorService = null;
+    }
+}
@@ -0,0 +1,14 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Callback of {@link ProviderFuture}
+ */
+public interface ProviderCallback<I> {
+    /**
+     * Invoked once the value is retrieved
+     *
+     * @param value     retrieved value, null if failed
+     * @param throwable failure of the retrieval, null if succeeded
+     */
+    void onComplete(I value, Throwable throwable);
+}
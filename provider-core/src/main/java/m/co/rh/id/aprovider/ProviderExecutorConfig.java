@@ -0,0 +1,168 @@
+package m.co.rh.id.aprovider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration of the executor a provider uses for async initialization, pool prewarming and disposal,
+ * see {@link CoreProvider#createProvider(Object, CoreProviderModule, ProviderExecutorConfig)}.
+ * <p>
+ * Without configuration every provider shares the executor of {@link ProviderExecutors}.
+ * Set max concurrency to give the provider a dedicated pool, so slow async initialization in one provider
+ * doesn't hold up other providers. Used with nested provider this is a bulkhead for that scope.
+ * The dedicated pool is shut down when the provider is disposed.
+ */
+public class ProviderExecutorConfig {
+    private ExecutorService mExecutorService;
+    private ExecutorService mAsyncExecutorService;
+    private int mMaxConcurrency;
+    private String mThreadName = "aprovider";
+    private int mThreadPriority = Thread.NORM_PRIORITY;
+    private int mAsyncInitPriority = Thread.NORM_PRIORITY;
+    private long mThreadTimeoutMillis = 10_000;
+
+    /**
+     * Executor managed by the caller, shared with whoever else uses it. It is not shut down by the provider.
+     * Takes precedence over max concurrency, thread name and priority
+     */
+    public ProviderExecutorConfig setExecutorService(ExecutorService executorService) {
+        mExecutorService = executorService;
+        mAsyncExecutorService = executorService;
+        return this;
+    }
+
+    /**
+     * Number of threads of the dedicated pool, tasks beyond it are queued.
+     * Default value is 0, use the shared executor of {@link ProviderExecutors}
+     */
+    public ProviderExecutorConfig setMaxConcurrency(int maxConcurrency) {
+        mMaxConcurrency = Math.max(0, maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Name prefix of dedicated pool threads, default value is "aprovider"
+     */
+    public ProviderExecutorConfig setThreadName(String threadName) {
+        mThreadName = threadName;
+        return this;
+    }
+
+    /**
+     * Priority of dedicated pool threads, default value is {@link Thread#NORM_PRIORITY}
+     */
+    public ProviderExecutorConfig setThreadPriority(int threadPriority) {
+        mThreadPriority = clampPriority(threadPriority);
+        return this;
+    }
+
+    /**
+     * Priority of dedicated pool threads running async initialization and pool prewarming,
+     * use {@link Thread#MIN_PRIORITY} to keep them in background.
+     * When it differs from thread priority they run on a separate pool with the same max concurrency.
+     * Default value is {@link Thread#NORM_PRIORITY}
+     */
+    public ProviderExecutorConfig setAsyncInitPriority(int asyncInitPriority) {
+        mAsyncInitPriority = clampPriority(asyncInitPriority);
+        return this;
+    }
+
+    /**
+     * Time an idle dedicated pool thread is kept before it is stopped, default value is 10 seconds
+     */
+    public ProviderExecutorConfig setThreadTimeoutMillis(long threadTimeoutMillis) {
+        mThreadTimeoutMillis = Math.max(1, threadTimeoutMillis);
+        return this;
+    }
+
+    public ExecutorService getExecutorService() {
+        return mExecutorService;
+    }
+
+    public int getMaxConcurrency() {
+        return mMaxConcurrency;
+    }
+
+    public String getThreadName() {
+        return mThreadName;
+    }
+
+    public int getThreadPriority() {
+        return mThreadPriority;
+    }
+
+    public int getAsyncInitPriority() {
+        return mAsyncInitPriority;
+    }
+
+    public long getThreadTimeoutMillis() {
+        return mThreadTimeoutMillis;
+    }
+
+    /**
+     * Config running on executors of other provider, used by nested provider without own configuration
+     */
+    static ProviderExecutorConfig inherit(ExecutorService executorService, ExecutorService asyncExecutorService) {
+        ProviderExecutorConfig executorConfig = new ProviderExecutorConfig();
+        executorConfig.mExecutorService = executorService;
+        executorConfig.mAsyncExecutorService = asyncExecutorService;
+        return executorConfig;
+    }
+
+    /**
+     * @return true if the provider creates and shuts down its own pool
+     */
+    boolean isDedicated() {
+        return mExecutorService == null && mMaxConcurrency > 0;
+    }
+
+    /**
+     * @return executor for disposal and expiry check
+     */
+    ExecutorService createExecutorService() {
+        if (mExecutorService != null) {
+            return mExecutorService;
+        }
+        if (mMaxConcurrency > 0) {
+            return newThreadPool(mThreadName, mThreadPriority);
+        }
+        return ProviderExecutors.getDefault();
+    }
+
+    /**
+     * @param executorService result of {@link #createExecutorService()}
+     * @return executor for async initialization and pool prewarming
+     */
+    ExecutorService createAsyncExecutorService(ExecutorService executorService) {
+        if (mAsyncExecutorService != null) {
+            return mAsyncExecutorService;
+        }
+        if (isDedicated() && mAsyncInitPriority != mThreadPriority) {
+            return newThreadPool(mThreadName + "-async", mAsyncInitPriority);
+        }
+        return executorService;
+    }
+
+    private ExecutorService newThreadPool(String threadName, int threadPriority) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(mMaxConcurrency, mMaxConcurrency,
+                mThreadTimeoutMillis, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(threadPriority);
+                    return thread;
+                },
+                // once the provider is disposed, late tasks such as disposal of expiring value run on the caller
+                (runnable, executor) -> runnable.run());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    private static int clampPriority(int priority) {
+        return Math.max(Thread.MIN_PRIORITY, Math.min(priority, Thread.MAX_PRIORITY));
+    }
+}
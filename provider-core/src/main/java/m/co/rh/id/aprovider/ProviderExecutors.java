@@ -0,0 +1,91 @@
+package m.co.rh.id.aprovider;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+
+import co.rh.id.lib.concurrent_utils.concurrent.executor.WeightedThreadPool;
+
+/**
+ * Default executor of providers for async initialization, pool prewarming and disposal.
+ * <p>
+ * By default every provider shares a weighted thread pool with max weight 5.
+ * On JVM with virtual threads (Java 21+) {@link #setVirtualThreads(boolean)} runs each of these tasks on its own virtual thread instead,
+ * so values blocking on {@link CoreProvider#get(Class)} inside async initialization don't hold scarce platform threads.
+ * When virtual threads are not available, such as on Android, the weighted thread pool is used.
+ */
+public final class ProviderExecutors {
+    private static final String TAG = "ProviderExecutors";
+    private static boolean sVirtualThreads;
+    private static ExecutorService sWeightedThreadPool;
+    private static ExecutorService sVirtualThreadExecutor;
+    // set once creating the virtual thread executor failed, so the lookup and warning are not repeated
+    private static boolean sVirtualThreadUnavailable;
+
+    private ProviderExecutors() {
+    }
+
+    /**
+     * Providers created after this call use the selected executor, existing providers keep their executor.
+     * <p>
+     * NOTE: before Java 24 a virtual thread that blocks while creating value inside synchronized register still occupies its carrier thread
+     *
+     * @param virtualThreads true to run each task on virtual thread when supported, false to use the shared weighted thread pool
+     */
+    public static synchronized void setVirtualThreads(boolean virtualThreads) {
+        sVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * @return true if this JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return getVirtualThreadFactoryMethod() != null;
+    }
+
+    /**
+     * @return executor for providers created without explicit executor
+     */
+    static synchronized ExecutorService getDefault() {
+        if (sVirtualThreads && !sVirtualThreadUnavailable) {
+            if (sVirtualThreadExecutor == null) {
+                sVirtualThreadExecutor = newVirtualThreadExecutor();
+                sVirtualThreadUnavailable = sVirtualThreadExecutor == null;
+            }
+            if (sVirtualThreadExecutor != null) {
+                return sVirtualThreadExecutor;
+            }
+        }
+        if (sWeightedThreadPool == null) {
+            WeightedThreadPool weightedThreadPool = new WeightedThreadPool();
+            weightedThreadPool.setMaxWeight(5);
+            weightedThreadPool.setThreadTimeoutMillis(10_000);
+            sWeightedThreadPool = weightedThreadPool;
+        }
+        return sWeightedThreadPool;
+    }
+
+    /**
+     * @return executor that starts a new virtual thread for each task, or null if not supported
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        Method method = getVirtualThreadFactoryMethod();
+        if (method == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            ProviderLog.w(TAG, "Virtual threads not available, using thread pool: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // looked up by reflection, source targets JVM and Android versions without virtual threads
+    private static Method getVirtualThreadFactoryMethod() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package m.co.rh.id.aprovider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of {@link CoreProvider#getAsync(Class)} that never blocks.
+ * Use this instead of CompletableFuture which is not available on older Android API levels
+ */
+public class ProviderFuture<I> {
+    private static final String TAG = "ProviderFuture";
+
+    private List<ProviderCallback<I>> mCallbacks = new ArrayList<>();
+    private volatile boolean mDone;
+    private I mValue;
+    private Throwable mThrowable;
+
+    ProviderFuture() {
+    }
+
+    /**
+     * @return true if the value is retrieved or failed
+     */
+    public boolean isDone() {
+        return mDone;
+    }
+
+    /**
+     * @return the value if retrieved, null if not done yet or failed
+     */
+    public I getNow() {
+        if (mDone) {
+            return mValue;
+        }
+        return null;
+    }
+
+    /**
+     * @return failure of the retrieval, null if not done yet or succeeded
+     */
+    public Throwable getThrowable() {
+        if (mDone) {
+            return mThrowable;
+        }
+        return null;
+    }
+
+    /**
+     * Invoke callback once done, immediately on the calling thread if already done.
+     * Otherwise the callback runs on the thread completing the future, such as the provider executor,
+     * so it should be short or hand the value over to other thread
+     */
+    public void whenComplete(ProviderCallback<I> callback) {
+        synchronized (this) {
+            if (!mDone) {
+                mCallbacks.add(callback);
+                return;
+            }
+        }
+        notifyCallback(callback);
+    }
+
+    void complete(I value, Throwable throwable) {
+        List<ProviderCallback<I>> callbacks;
+        synchronized (this) {
+            if (mDone) {
+                return;
+            }
+            mValue = value;
+            mThrowable = throwable;
+            mDone = true;
+            callbacks = mCallbacks;
+            mCallbacks = null;
+        }
+        for (ProviderCallback<I> callback : callbacks) {
+            notifyCallback(callback);
+        }
+    }
+
+    private void notifyCallback(ProviderCallback<I> callback) {
+        try {
+            callback.onComplete(mValue, mThrowable);
+        } catch (Exception e) {
+            ProviderLog.e(TAG, "Callback failed: " + e.getMessage(), e);
+        }
+    }
+}
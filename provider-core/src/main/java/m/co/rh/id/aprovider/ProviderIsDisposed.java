@@ -2,7 +2,7 @@ package m.co.rh.id.aprovider;
 
 /**
  * Contract class to indicate that an object has been disposed.
- * Used for memory optimization on registerPool
+ * Used on registerPool to skip disposing object that already disposed itself
  */
 public interface ProviderIsDisposed {
 
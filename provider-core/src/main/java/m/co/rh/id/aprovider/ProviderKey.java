@@ -0,0 +1,27 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Handle of a type resolved by {@link CoreProvider#key(Class)}.
+ * Retrieving value with {@link CoreProvider#get(ProviderKey)} using the provider that created this key
+ * skips the type lookup, use this for frequently accessed types.
+ *
+ * @param <I> type of the object/service
+ */
+public final class ProviderKey<I> {
+    final CoreProvider mProvider;
+    final Class<I> mType;
+    final int mSlot;
+
+    ProviderKey(CoreProvider provider, Class<I> type, int slot) {
+        mProvider = provider;
+        mType = type;
+        mSlot = slot;
+    }
+
+    /**
+     * @return the class this key was created for
+     */
+    public Class<I> getType() {
+        return mType;
+    }
+}
@@ -0,0 +1,43 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Listener of provider events, to plug in profiling or logging.
+ * Attach with {@link CoreProviderRegistry#setProviderListener(ProviderListener)},
+ * nested providers inherit the listener of their parent.
+ * <p>
+ * Callbacks are invoked on the thread doing the work and must not throw.
+ */
+public interface ProviderListener {
+
+    /**
+     * Invoked after a lookup by type, including lookups that didn't find anything
+     *
+     * @param type  requested type
+     * @param found true if the type was found
+     * @param nanos time taken by the lookup, including creation of the value if it was created
+     */
+    default void onResolve(Class<?> type, boolean found, long nanos) {
+        // Default leave blank
+    }
+
+    /**
+     * Invoked after registered value is created
+     *
+     * @param type  registered type
+     * @param kind  kind of the registration
+     * @param nanos time taken by {@link ProviderValue#get()}
+     */
+    default void onCreate(Class<?> type, ProviderRegisterKind kind, long nanos) {
+        // Default leave blank
+    }
+
+    /**
+     * Invoked after registration is disposed by provider dispose
+     *
+     * @param type  registered type
+     * @param nanos time taken to dispose it
+     */
+    default void onDispose(Class<?> type, long nanos) {
+        // Default leave blank
+    }
+}
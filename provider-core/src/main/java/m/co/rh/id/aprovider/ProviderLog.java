@@ -0,0 +1,54 @@
+package m.co.rh.id.aprovider;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log of the provider, written to java.util.logging unless other logger is set
+ */
+public final class ProviderLog {
+    private static volatile ProviderLogger sLogger;
+    private static volatile boolean sLoggerSet;
+
+    private ProviderLog() {
+    }
+
+    /**
+     * @param logger destination of provider log messages, null to use java.util.logging
+     */
+    public static void setLogger(ProviderLogger logger) {
+        sLogger = logger;
+        sLoggerSet = true;
+    }
+
+    /**
+     * Same as {@link #setLogger(ProviderLogger)} but doesn't replace logger set by the application
+     */
+    static void setDefaultLogger(ProviderLogger logger) {
+        if (!sLoggerSet) {
+            sLogger = logger;
+        }
+    }
+
+    static void w(String tag, String message) {
+        ProviderLogger logger = sLogger;
+        if (logger != null) {
+            logger.w(tag, message);
+        } else {
+            Logger.getLogger(tag).log(Level.WARNING, message);
+        }
+    }
+
+    static void e(String tag, String message) {
+        e(tag, message, null);
+    }
+
+    static void e(String tag, String message, Throwable throwable) {
+        ProviderLogger logger = sLogger;
+        if (logger != null) {
+            logger.e(tag, message, throwable);
+        } else {
+            Logger.getLogger(tag).log(Level.SEVERE, message, throwable);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Destination of provider log messages, see {@link ProviderLog#setLogger(ProviderLogger)}
+ */
+public interface ProviderLogger {
+    void w(String tag, String message);
+
+    /**
+     * @param throwable cause of the error, may be null
+     */
+    void e(String tag, String message, Throwable throwable);
+}
@@ -0,0 +1,344 @@
+package m.co.rh.id.aprovider;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lookup and construction metrics of a provider.
+ * Attach with {@link CoreProviderRegistry#setMetrics(ProviderMetrics)} and read with {@link #snapshot()}.
+ * <p>
+ * Lookup counters and histograms are striped per thread so recording doesn't add contention between threads.
+ */
+@SuppressWarnings("rawtypes")
+public class ProviderMetrics {
+
+    /**
+     * How a lookup found its register
+     */
+    public enum ResolvePath {
+        /**
+         * Registered type or alias
+         */
+        EXACT,
+        /**
+         * Super type of registered type or alias
+         */
+        ASSIGNABLE,
+        /**
+         * Type of the created value, see {@link CoreProviderRegistry#setInstanceProbe(boolean)}
+         */
+        INSTANCE_PROBE
+    }
+
+    // counter index inside a stripe
+    private static final int HIT = 0;
+    private static final int MISS = 1;
+    private static final int PARENT_FALLBACK = 2;
+    private static final int PATH_EXACT = 3;
+    private static final int PATH_ASSIGNABLE = 4;
+    private static final int PATH_INSTANCE_PROBE = 5;
+    // counters in a stripe
+    private static final int STRIPE_WIDTH = 8;
+    // counters followed by one cache line of padding, so stripes of different threads never share a cache line
+    private static final int STRIPE_STRIDE = STRIPE_WIDTH + 8;
+
+    private int mStripeMask;
+    private ConcurrentMap<Class, AtomicLongArray> mTypeCounters;
+    private Histogram.Recorder[] mConstructionRecorders;
+    private Histogram.Recorder[] mMonitorWaitRecorders;
+    private ProviderListener mListener;
+
+    public ProviderMetrics() {
+        int stripeCount = ThreadStripes.stripeCount();
+        mStripeMask = stripeCount - 1;
+        mTypeCounters = new ConcurrentHashMap<>();
+        ProviderRegisterKind[] kinds = ProviderRegisterKind.values();
+        mConstructionRecorders = new Histogram.Recorder[kinds.length];
+        mMonitorWaitRecorders = new Histogram.Recorder[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            mConstructionRecorders[i] = new Histogram.Recorder(stripeCount);
+            mMonitorWaitRecorders[i] = new Histogram.Recorder(stripeCount);
+        }
+        mListener = new ProviderListener() {
+            @Override
+            public void onResolve(Class<?> type, boolean found, long nanos) {
+                increment(type, found ? HIT : MISS);
+            }
+
+            @Override
+            public void onCreate(Class<?> type, ProviderRegisterKind kind, long nanos) {
+                mConstructionRecorders[kind.ordinal()].record(nanos);
+            }
+        };
+    }
+
+    ProviderListener getListener() {
+        return mListener;
+    }
+
+    void recordPath(Class type, ResolvePath resolvePath) {
+        increment(type, PATH_EXACT + resolvePath.ordinal());
+    }
+
+    void recordParentFallback(Class type) {
+        increment(type, PARENT_FALLBACK);
+    }
+
+    void recordMonitorWait(ProviderRegisterKind kind, long nanos) {
+        mMonitorWaitRecorders[kind.ordinal()].record(nanos);
+    }
+
+    private void increment(Class type, int counter) {
+        AtomicLongArray counters = mTypeCounters.get(type);
+        if (counters == null) {
+            counters = new AtomicLongArray((mStripeMask + 1) * STRIPE_STRIDE);
+            AtomicLongArray existing = mTypeCounters.putIfAbsent(type, counters);
+            if (existing != null) {
+                counters = existing;
+            }
+        }
+        counters.incrementAndGet(ThreadStripes.index(mStripeMask) * STRIPE_STRIDE + counter);
+    }
+
+    /**
+     * @return immutable copy of current values
+     */
+    public Snapshot snapshot() {
+        Map<Class<?>, TypeStats> typeStats = new LinkedHashMap<>();
+        for (Map.Entry<Class, AtomicLongArray> entry : mTypeCounters.entrySet()) {
+            AtomicLongArray counters = entry.getValue();
+            long[] sums = new long[STRIPE_WIDTH];
+            for (int stripe = 0; stripe < counters.length(); stripe += STRIPE_STRIDE) {
+                for (int i = 0; i < STRIPE_WIDTH; i++) {
+                    sums[i] += counters.get(stripe + i);
+                }
+            }
+            typeStats.put(entry.getKey(), new TypeStats(sums));
+        }
+        Map<ProviderRegisterKind, Histogram> construction = new EnumMap<>(ProviderRegisterKind.class);
+        Map<ProviderRegisterKind, Histogram> monitorWait = new EnumMap<>(ProviderRegisterKind.class);
+        for (ProviderRegisterKind kind : ProviderRegisterKind.values()) {
+            Histogram constructionHistogram = mConstructionRecorders[kind.ordinal()].snapshot();
+            if (constructionHistogram.getCount() > 0) {
+                construction.put(kind, constructionHistogram);
+            }
+            Histogram monitorWaitHistogram = mMonitorWaitRecorders[kind.ordinal()].snapshot();
+            if (monitorWaitHistogram.getCount() > 0) {
+                monitorWait.put(kind, monitorWaitHistogram);
+            }
+        }
+        return new Snapshot(typeStats, construction, monitorWait);
+    }
+
+    /**
+     * Metrics at the time {@link #snapshot()} was invoked
+     */
+    public static class Snapshot {
+        private Map<Class<?>, TypeStats> mTypeStats;
+        private Map<ProviderRegisterKind, Histogram> mConstructionLatency;
+        private Map<ProviderRegisterKind, Histogram> mMonitorWait;
+
+        Snapshot(Map<Class<?>, TypeStats> typeStats,
+                 Map<ProviderRegisterKind, Histogram> constructionLatency,
+                 Map<ProviderRegisterKind, Histogram> monitorWait) {
+            mTypeStats = Collections.unmodifiableMap(typeStats);
+            mConstructionLatency = Collections.unmodifiableMap(constructionLatency);
+            mMonitorWait = Collections.unmodifiableMap(monitorWait);
+        }
+
+        /**
+         * @return lookup counters of every type that was looked up
+         */
+        public Map<Class<?>, TypeStats> getTypeStats() {
+            return mTypeStats;
+        }
+
+        /**
+         * @return lookup counters of type, all zero if never looked up
+         */
+        public TypeStats getTypeStats(Class<?> type) {
+            TypeStats typeStats = mTypeStats.get(type);
+            return typeStats != null ? typeStats : new TypeStats(new long[STRIPE_WIDTH]);
+        }
+
+        /**
+         * @return time taken by {@link ProviderValue#get()} for each kind that created a value
+         */
+        public Map<ProviderRegisterKind, Histogram> getConstructionLatency() {
+            return mConstructionLatency;
+        }
+
+        /**
+         * @return time spent waiting for another thread creating the same value, for each kind that waited
+         */
+        public Map<ProviderRegisterKind, Histogram> getMonitorWait() {
+            return mMonitorWait;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder stringBuilder = new StringBuilder("ProviderMetrics{");
+            for (Map.Entry<Class<?>, TypeStats> entry : mTypeStats.entrySet()) {
+                stringBuilder.append("\n  ").append(entry.getKey().getName()).append(' ').append(entry.getValue());
+            }
+            for (Map.Entry<ProviderRegisterKind, Histogram> entry : mConstructionLatency.entrySet()) {
+                stringBuilder.append("\n  construction ").append(entry.getKey()).append(' ').append(entry.getValue());
+            }
+            for (Map.Entry<ProviderRegisterKind, Histogram> entry : mMonitorWait.entrySet()) {
+                stringBuilder.append("\n  monitorWait ").append(entry.getKey()).append(' ').append(entry.getValue());
+            }
+            return stringBuilder.append("\n}").toString();
+        }
+    }
+
+    /**
+     * Lookup counters of a type
+     */
+    public static class TypeStats {
+        private long[] mCounts;
+
+        TypeStats(long[] counts) {
+            mCounts = counts;
+        }
+
+        public long getHits() {
+            return mCounts[HIT];
+        }
+
+        public long getMisses() {
+            return mCounts[MISS];
+        }
+
+        /**
+         * @return lookups of nested provider that were found in an ancestor provider
+         */
+        public long getParentFallbacks() {
+            return mCounts[PARENT_FALLBACK];
+        }
+
+        /**
+         * @return lookups found in this provider through resolvePath
+         */
+        public long getResolvePathCount(ResolvePath resolvePath) {
+            return mCounts[PATH_EXACT + resolvePath.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + getHits() +
+                    ", misses=" + getMisses() +
+                    ", parentFallbacks=" + getParentFallbacks() +
+                    ", exact=" + getResolvePathCount(ResolvePath.EXACT) +
+                    ", assignable=" + getResolvePathCount(ResolvePath.ASSIGNABLE) +
+                    ", instanceProbe=" + getResolvePathCount(ResolvePath.INSTANCE_PROBE);
+        }
+    }
+
+    /**
+     * Latency histogram with power of two buckets,
+     * bucket i counts values from 2^(i-1) inclusive to 2^i nanoseconds exclusive, bucket 0 counts zero values
+     */
+    public static class Histogram {
+        static final int BUCKET_COUNT = 64;
+
+        private long mCount;
+        private long mTotalNanos;
+        private long mMaxNanos;
+        private long[] mBucketCounts;
+
+        Histogram(long count, long totalNanos, long maxNanos, long[] bucketCounts) {
+            mCount = count;
+            mTotalNanos = totalNanos;
+            mMaxNanos = maxNanos;
+            mBucketCounts = bucketCounts;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getTotalNanos() {
+            return mTotalNanos;
+        }
+
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+
+        /**
+         * @return copy of bucket counts
+         */
+        public long[] getBucketCounts() {
+            return mBucketCounts.clone();
+        }
+
+        /**
+         * @return upper bound of the value in bucket, exclusive
+         */
+        public static long getBucketUpperBoundNanos(int bucket) {
+            return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + mCount +
+                    ", meanNanos=" + (mCount == 0 ? 0 : mTotalNanos / mCount) +
+                    ", maxNanos=" + mMaxNanos;
+        }
+
+        static class Recorder {
+            // count, total, max, then buckets
+            private static final int STRIPE_WIDTH = 3 + BUCKET_COUNT;
+            // rounded up to whole cache lines plus one line of padding, same as lookup counters
+            private static final int STRIPE_STRIDE = (STRIPE_WIDTH + 7) / 8 * 8 + 8;
+
+            private int mStripeMask;
+            private AtomicLongArray mValues;
+
+            /**
+             * @param stripeCount power of two
+             */
+            Recorder(int stripeCount) {
+                mStripeMask = stripeCount - 1;
+                mValues = new AtomicLongArray(stripeCount * STRIPE_STRIDE);
+            }
+
+            void record(long nanos) {
+                if (nanos < 0) {
+                    nanos = 0;
+                }
+                int stripe = ThreadStripes.index(mStripeMask) * STRIPE_STRIDE;
+                mValues.incrementAndGet(stripe);
+                mValues.addAndGet(stripe + 1, nanos);
+                long max;
+                while (nanos > (max = mValues.get(stripe + 2))) {
+                    if (mValues.compareAndSet(stripe + 2, max, nanos)) {
+                        break;
+                    }
+                }
+                mValues.incrementAndGet(stripe + 3 + 64 - Long.numberOfLeadingZeros(nanos));
+            }
+
+            Histogram snapshot() {
+                long count = 0;
+                long totalNanos = 0;
+                long maxNanos = 0;
+                long[] bucketCounts = new long[BUCKET_COUNT];
+                for (int stripe = 0; stripe < mValues.length(); stripe += STRIPE_STRIDE) {
+                    count += mValues.get(stripe);
+                    totalNanos += mValues.get(stripe + 1);
+                    maxNanos = Math.max(maxNanos, mValues.get(stripe + 2));
+                    for (int i = 0; i < BUCKET_COUNT; i++) {
+                        bucketCounts[i] += mValues.get(stripe + 3 + i);
+                    }
+                }
+                return new Histogram(count, totalNanos, maxNanos, bucketCounts);
+            }
+        }
+    }
+}
@@ -5,7 +5,15 @@ package m.co.rh.id.aprovider;
  * or other null pointer outside this library
  */
 class ProviderNullPointerException extends NullPointerException {
+    private static final long serialVersionUID = 1L;
+
     public ProviderNullPointerException(String message) {
         super(message);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // stackless, the message already tells which type is missing
+        return this;
+    }
 }
@@ -0,0 +1,92 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Configuration of object pool registered with
+ * {@link CoreProviderRegistry#registerPool(Class, ProviderValue, ProviderPoolConfig)}
+ */
+public class ProviderPoolConfig<I> {
+    private int mMaxSize;
+    private int mMinIdle;
+    private ProviderPoolReset<I> mResetHook;
+    private boolean mBlockWhenExhausted;
+    private long mMaxWaitMillis;
+    private int mStripedCacheSize;
+
+    /**
+     * @param maxSize maximum number of instances created by the pool, acquired and idle combined
+     * @throws IllegalArgumentException if maxSize is less than 1
+     */
+    public ProviderPoolConfig(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Number of idle instances created ahead on the provider executor after registration.
+     * Default value is 0
+     */
+    public ProviderPoolConfig<I> setMinIdle(int minIdle) {
+        mMinIdle = Math.max(0, Math.min(minIdle, mMaxSize));
+        return this;
+    }
+
+    /**
+     * Hook invoked on every released value before it can be acquired again
+     */
+    public ProviderPoolConfig<I> setResetHook(ProviderPoolReset<I> resetHook) {
+        mResetHook = resetHook;
+        return this;
+    }
+
+    /**
+     * Set whether acquire waits for a released value when the pool is exhausted.
+     * Default value is false, acquire throws IllegalStateException immediately
+     *
+     * @param block         true to wait
+     * @param maxWaitMillis maximum wait before throwing IllegalStateException, 0 to wait indefinitely
+     */
+    public ProviderPoolConfig<I> setBlockWhenExhausted(boolean block, long maxWaitMillis) {
+        mBlockWhenExhausted = block;
+        mMaxWaitMillis = Math.max(0, maxWaitMillis);
+        return this;
+    }
+
+    /**
+     * Number of released values kept in each striped cache before handing them to the shared pool,
+     * so acquire and release from the same thread mostly don't touch the shared queue.
+     * There is a fixed number of stripes, around the number of processors, and each thread uses the one
+     * picked by its id, so unrelated threads can share a stripe.
+     * Values cached in other stripes are taken only when there is no other idle value.
+     * Default value is 0, no striped cache
+     */
+    public ProviderPoolConfig<I> setStripedCacheSize(int stripedCacheSize) {
+        mStripedCacheSize = Math.max(0, stripedCacheSize);
+        return this;
+    }
+
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+
+    public int getMinIdle() {
+        return mMinIdle;
+    }
+
+    public ProviderPoolReset<I> getResetHook() {
+        return mResetHook;
+    }
+
+    public boolean isBlockWhenExhausted() {
+        return mBlockWhenExhausted;
+    }
+
+    public long getMaxWaitMillis() {
+        return mMaxWaitMillis;
+    }
+
+    public int getStripedCacheSize() {
+        return mStripedCacheSize;
+    }
+}
@@ -0,0 +1,14 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Hook to restore pooled object into reusable state before it is returned to the pool
+ */
+public interface ProviderPoolReset<I> {
+    /**
+     * Reset value that was released to the pool.
+     * If this throws, the value is discarded instead of returned to the pool
+     *
+     * @param value released value
+     */
+    void reset(I value);
+}
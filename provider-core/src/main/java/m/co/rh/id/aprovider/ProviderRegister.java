@@ -0,0 +1,161 @@
+package m.co.rh.id.aprovider;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Provider member
+ */
+@SuppressWarnings("rawtypes")
+abstract class ProviderRegister<I> implements ProviderValue<I>, CoreProviderDisposable {
+    private ProviderValue<I> mProviderValue;
+    private Class<I> mType;
+    private Class[] mExposedTypes;
+    private volatile boolean mIsRemoved;
+    private ProviderMetrics mMetrics;
+    private ProviderValueDisposer mValueDisposer = ProviderValueDisposer.CORE;
+
+    public ProviderRegister(Class<I> type, ProviderValue<I> providerValue) {
+        mType = type;
+        mProviderValue = providerValue;
+    }
+
+    public ProviderValue<I> getProviderValue() {
+        return mProviderValue;
+    }
+
+    public Class<I> getType() {
+        return mType;
+    }
+
+    /**
+     * @return kind of registration this register was created by
+     */
+    public abstract ProviderRegisterKind getKind();
+
+    /**
+     * Replace the provider value, only before this register is added to the provider
+     */
+    public void setProviderValue(ProviderValue<I> providerValue) {
+        mProviderValue = providerValue;
+    }
+
+    /**
+     * Record time spent waiting for other thread creating the value, only before this register is added to the provider
+     */
+    public void setMetrics(ProviderMetrics metrics) {
+        mMetrics = metrics;
+    }
+
+    /**
+     * Set how created values are disposed, only before this register is added to the provider
+     */
+    void setValueDisposer(ProviderValueDisposer valueDisposer) {
+        mValueDisposer = valueDisposer;
+    }
+
+    boolean isDisposable(Object value) {
+        return mValueDisposer.isDisposable(value);
+    }
+
+    /**
+     * @param value value that {@link #isDisposable(Object)}
+     */
+    void disposeValue(Object value, Object context) {
+        mValueDisposer.dispose(value, context);
+    }
+
+    /**
+     * @return start time to be passed to {@link #endWait(long)}, 0 if no metrics is set
+     */
+    long startWait() {
+        return mMetrics != null ? System.nanoTime() : 0;
+    }
+
+    void endWait(long startNanos) {
+        ProviderMetrics metrics = mMetrics;
+        if (metrics != null) {
+            metrics.recordMonitorWait(getKind(), System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * @return true if the provider owning this register was disposed
+     */
+    public boolean isRemoved() {
+        return mIsRemoved;
+    }
+
+    public void markRemoved() {
+        mIsRemoved = true;
+    }
+
+    /**
+     * @return true if every {@link #get()} returns the same instance
+     */
+    public boolean returnsSameInstance() {
+        return false;
+    }
+
+    /**
+     * @return true if the created value can be disposed and created again while the provider is alive,
+     * so it must not be kept outside this register
+     */
+    public boolean dropsValue() {
+        return false;
+    }
+
+    /**
+     * @return value already created by this register, null if there is none. Never creates the value
+     */
+    public I peekValue() {
+        return null;
+    }
+
+    /**
+     * @return additional types this register is exposed as, see {@link CoreProviderRegistry#registerAlias(Class, Class[])}
+     */
+    public Class[] getExposedTypes() {
+        return mExposedTypes;
+    }
+
+    public void addExposedType(Class exposedType) {
+        if (mExposedTypes == null) {
+            mExposedTypes = new Class[]{exposedType};
+        } else {
+            Class[] exposedTypes = Arrays.copyOf(mExposedTypes, mExposedTypes.length + 1);
+            exposedTypes[mExposedTypes.length] = exposedType;
+            mExposedTypes = exposedTypes;
+        }
+    }
+
+    /**
+     * @return true if clazz is the registered type, one of the exposed types, or a super type of them
+     */
+    public boolean isAssignableTo(Class<?> clazz) {
+        if (clazz.isAssignableFrom(mType)) {
+            return true;
+        }
+        Class<?>[] exposedTypes = mExposedTypes;
+        if (exposedTypes != null) {
+            for (Class<?> exposedType : exposedTypes) {
+                if (clazz.isAssignableFrom(exposedType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProviderRegister<?> that)) return false;
+        return Objects.equals(mType.getName(), that.mType.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return mType.getName().hashCode();
+    }
+}
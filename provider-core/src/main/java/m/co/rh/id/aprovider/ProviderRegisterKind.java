@@ -0,0 +1,39 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Kind of registration, one for each register method of {@link CoreProviderRegistry}
+ */
+public enum ProviderRegisterKind {
+    /**
+     * {@link CoreProviderRegistry#register(Class, ProviderValue)}
+     */
+    SINGLETON,
+    /**
+     * {@link CoreProviderRegistry#registerLazy(Class, ProviderValue)}
+     */
+    LAZY,
+    /**
+     * {@link CoreProviderRegistry#registerAsync(Class, ProviderValue)}
+     */
+    ASYNC,
+    /**
+     * {@link CoreProviderRegistry#registerFactory(Class, ProviderValue)}
+     */
+    FACTORY,
+    /**
+     * {@link CoreProviderRegistry#registerPool(Class, ProviderValue)}
+     */
+    POOL,
+    /**
+     * {@link CoreProviderRegistry#registerPool(Class, ProviderValue, ProviderPoolConfig)}
+     */
+    OBJECT_POOL,
+    /**
+     * {@link CoreProviderRegistry#registerExpiring(Class, ProviderValue, long)}
+     */
+    EXPIRING,
+    /**
+     * {@link CoreProviderRegistry#registerReclaimable(Class, ProviderValue, boolean)}
+     */
+    RECLAIMABLE
+}
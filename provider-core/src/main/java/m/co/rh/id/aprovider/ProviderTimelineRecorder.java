@@ -0,0 +1,260 @@
+package m.co.rh.id.aprovider;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records when each registered value is created, to find out where provider startup time goes.
+ * Attach with {@link CoreProviderRegistry#setTimelineRecorder(ProviderTimelineRecorder)}
+ * and export with {@link #writeChromeTrace(Writer)} to be opened in trace viewer such as chrome://tracing or Perfetto.
+ */
+@SuppressWarnings("rawtypes")
+public class ProviderTimelineRecorder {
+    private long mOriginNanos;
+    private ConcurrentLinkedQueue<Entry> mEntries;
+    // values being created on the current thread, the last one is the innermost
+    private ThreadLocal<ArrayDeque<Entry>> mCreatingEntries;
+    private ProviderListener mListener;
+
+    public ProviderTimelineRecorder() {
+        mOriginNanos = System.nanoTime();
+        mEntries = new ConcurrentLinkedQueue<>();
+        mCreatingEntries = new ThreadLocal<ArrayDeque<Entry>>() {
+            @Override
+            protected ArrayDeque<Entry> initialValue() {
+                return new ArrayDeque<>();
+            }
+        };
+        mListener = new ProviderListener() {
+            @Override
+            public void onResolve(Class<?> type, boolean found, long nanos) {
+                ProviderTimelineRecorder.this.onResolve(type);
+            }
+        };
+    }
+
+    ProviderListener getListener() {
+        return mListener;
+    }
+
+    <I> ProviderValue<I> trace(Class type, ProviderRegisterKind kind, ProviderValue<I> providerValue) {
+        return () -> {
+            Entry entry = begin(type.getName(), kind);
+            try {
+                return providerValue.get();
+            } finally {
+                end(entry);
+            }
+        };
+    }
+
+    /**
+     * Record that type was retrieved, counted as dependency of the value being created on this thread
+     */
+    void onResolve(Class type) {
+        Entry creatingEntry = mCreatingEntries.get().peekLast();
+        if (creatingEntry != null) {
+            creatingEntry.mResolvedTypes.add(type.getName());
+        }
+    }
+
+    /**
+     * Record span that is not a registered value, like the provider start
+     */
+    void record(String name, long startNanos, long endNanos) {
+        Entry entry = new Entry(name, null, Thread.currentThread(), startNanos - mOriginNanos);
+        entry.mDurationNanos = endNanos - startNanos;
+        mEntries.add(entry);
+    }
+
+    private Entry begin(String name, ProviderRegisterKind kind) {
+        Entry entry = new Entry(name, kind, Thread.currentThread(), System.nanoTime() - mOriginNanos);
+        ArrayDeque<Entry> creatingEntries = mCreatingEntries.get();
+        Entry parentEntry = creatingEntries.peekLast();
+        if (parentEntry != null) {
+            parentEntry.mResolvedTypes.add(name);
+        }
+        creatingEntries.addLast(entry);
+        return entry;
+    }
+
+    private void end(Entry entry) {
+        entry.mDurationNanos = System.nanoTime() - mOriginNanos - entry.mStartNanos;
+        mCreatingEntries.get().removeLast();
+        mEntries.add(entry);
+    }
+
+    /**
+     * @return recorded entries in the order they finished
+     */
+    public List<Entry> getEntries() {
+        return new ArrayList<>(mEntries);
+    }
+
+    public void clear() {
+        mEntries.clear();
+    }
+
+    /**
+     * @return recorded entries as Chrome trace event JSON
+     */
+    public String toChromeTrace() {
+        StringWriter stringWriter = new StringWriter();
+        try {
+            writeChromeTrace(stringWriter);
+        } catch (IOException e) {
+            // StringWriter doesn't throw
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Write recorded entries as Chrome trace event JSON, one complete event for each entry
+     */
+    public void writeChromeTrace(Writer writer) throws IOException {
+        List<Entry> entries = getEntries();
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("{\"traceEvents\":[");
+        Set<Long> namedThreads = new LinkedHashSet<>();
+        boolean first = true;
+        for (Entry entry : entries) {
+            if (namedThreads.add(entry.mThreadId)) {
+                if (!first) {
+                    stringBuilder.append(',');
+                }
+                first = false;
+                stringBuilder.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":")
+                        .append(entry.mThreadId)
+                        .append(",\"args\":{\"name\":");
+                appendString(stringBuilder, entry.mThreadName);
+                stringBuilder.append("}}");
+            }
+            if (!first) {
+                stringBuilder.append(',');
+            }
+            first = false;
+            stringBuilder.append("\n{\"name\":");
+            appendString(stringBuilder, entry.mName);
+            stringBuilder.append(",\"cat\":");
+            appendString(stringBuilder, entry.mKind != null ? entry.mKind.name() : "PROVIDER");
+            stringBuilder.append(",\"ph\":\"X\",\"ts\":");
+            appendMicros(stringBuilder, entry.mStartNanos);
+            stringBuilder.append(",\"dur\":");
+            appendMicros(stringBuilder, entry.mDurationNanos);
+            stringBuilder.append(",\"pid\":1,\"tid\":").append(entry.mThreadId)
+                    .append(",\"args\":{\"resolved\":[");
+            boolean firstResolved = true;
+            for (String resolvedType : entry.mResolvedTypes) {
+                if (!firstResolved) {
+                    stringBuilder.append(',');
+                }
+                firstResolved = false;
+                appendString(stringBuilder, resolvedType);
+            }
+            stringBuilder.append("]}}");
+            writer.write(stringBuilder.toString());
+            stringBuilder.setLength(0);
+        }
+        stringBuilder.append("\n],\"displayTimeUnit\":\"ms\"}\n");
+        writer.write(stringBuilder.toString());
+        writer.flush();
+    }
+
+    private static void appendMicros(StringBuilder stringBuilder, long nanos) {
+        // spans started before the recorder was created are negative
+        if (nanos < 0) {
+            stringBuilder.append('-');
+            nanos = -nanos;
+        }
+        stringBuilder.append(nanos / 1000).append('.');
+        long fraction = nanos % 1000;
+        if (fraction < 100) {
+            stringBuilder.append('0');
+        }
+        if (fraction < 10) {
+            stringBuilder.append('0');
+        }
+        stringBuilder.append(fraction);
+    }
+
+    private static void appendString(StringBuilder stringBuilder, String value) {
+        stringBuilder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                stringBuilder.append('\\').append(c);
+            } else if (c < 0x20) {
+                stringBuilder.append(String.format("\\u%04x", (int) c));
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+        stringBuilder.append('"');
+    }
+
+    /**
+     * Single recorded creation
+     */
+    public static class Entry {
+        private String mName;
+        private ProviderRegisterKind mKind;
+        private long mThreadId;
+        private String mThreadName;
+        private long mStartNanos;
+        private long mDurationNanos;
+        private Set<String> mResolvedTypes;
+
+        Entry(String name, ProviderRegisterKind kind, Thread thread, long startNanos) {
+            mName = name;
+            mKind = kind;
+            mThreadId = thread.getId();
+            mThreadName = thread.getName();
+            mStartNanos = startNanos;
+            mResolvedTypes = new LinkedHashSet<>();
+        }
+
+        /**
+         * @return registered type name, or name of the provider span
+         */
+        public String getName() {
+            return mName;
+        }
+
+        /**
+         * @return kind of the registration, null if this is not a registered value
+         */
+        public ProviderRegisterKind getKind() {
+            return mKind;
+        }
+
+        public String getThreadName() {
+            return mThreadName;
+        }
+
+        /**
+         * @return start time relative to the recorder creation
+         */
+        public long getStartNanos() {
+            return mStartNanos;
+        }
+
+        public long getDurationNanos() {
+            return mDurationNanos;
+        }
+
+        /**
+         * @return type names retrieved while this value was being created
+         */
+        public List<String> getResolvedTypes() {
+            return Collections.unmodifiableList(new ArrayList<>(mResolvedTypes));
+        }
+    }
+}
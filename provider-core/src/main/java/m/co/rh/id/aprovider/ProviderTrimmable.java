@@ -0,0 +1,17 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Contract class to indicate that an object can release memory on request.
+ * Implement this class to components to handle Provider.trimMemory event.
+ */
+public interface ProviderTrimmable {
+
+    /**
+     * Release memory that can be rebuilt later, like caches.
+     * Only invoked on objects that were already created by the provider
+     *
+     * @param level trim level passed to {@link CoreProvider#trimMemory(int)},
+     *              same values as android.content.ComponentCallbacks2 TRIM_MEMORY_* constants
+     */
+    void onTrimMemory(int level);
+}
@@ -0,0 +1,26 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Decide which values are disposed by the provider and how,
+ * so the platform module can support its own disposable contract
+ */
+interface ProviderValueDisposer {
+    ProviderValueDisposer CORE = new ProviderValueDisposer() {
+        @Override
+        public boolean isDisposable(Object value) {
+            return value instanceof CoreProviderDisposable;
+        }
+
+        @Override
+        public void dispose(Object value, Object context) {
+            ((CoreProviderDisposable) value).dispose(context);
+        }
+    };
+
+    boolean isDisposable(Object value);
+
+    /**
+     * @param value value that {@link #isDisposable(Object)}
+     */
+    void dispose(Object value, Object context);
+}
@@ -0,0 +1,124 @@
+package m.co.rh.id.aprovider;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helper class to register lazy-loaded singleton that can be disposed on {@link CoreProvider#trimMemory(int)}
+ * and created again on next get
+ */
+class ReclaimableProviderRegister<I> extends ProviderRegister<I> {
+    private static final String TAG = "ReclaimableProvider";
+
+    private boolean mSoftReference;
+    // either the value or SoftReference of the value
+    private volatile Object mValueHolder;
+    private volatile long mLastAccessNanos;
+    // incremented on every get, reclaim compares it to tell whether the value was used after it was picked
+    private AtomicLong mAccessCount;
+    // odd while reclaim checks access count and clears the value, get without lock retries under lock when it changes
+    private volatile int mReclaimSequence;
+
+    public ReclaimableProviderRegister(Class<I> type, ProviderValue<I> providerValue, boolean softReference) {
+        super(type, providerValue);
+        mSoftReference = softReference;
+        mAccessCount = new AtomicLong();
+    }
+
+    @Override
+    public boolean dropsValue() {
+        return true;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.RECLAIMABLE;
+    }
+
+    @Override
+    public I get() {
+        mLastAccessNanos = System.nanoTime();
+        mAccessCount.incrementAndGet();
+        int reclaimSequence = mReclaimSequence;
+        I value = peekValue();
+        if (value == null || (reclaimSequence & 1) != 0 || reclaimSequence != mReclaimSequence) {
+            long waitStartNanos = startWait();
+            synchronized (this) {
+                endWait(waitStartNanos);
+                value = peekValue();
+                if (value == null) {
+                    value = getProviderValue().get();
+                    mValueHolder = mSoftReference ? new SoftReference<>(value) : value;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public I peekValue() {
+        Object valueHolder = mValueHolder;
+        if (valueHolder instanceof SoftReference) {
+            return ((SoftReference<I>) valueHolder).get();
+        }
+        return (I) valueHolder;
+    }
+
+    /**
+     * @return time of the last get, in {@link System#nanoTime()}
+     */
+    public long getLastAccessNanos() {
+        return mLastAccessNanos;
+    }
+
+    /**
+     * @return number of get so far
+     */
+    public long getAccessCount() {
+        return mAccessCount.get();
+    }
+
+    /**
+     * Drop the created value and dispose it unless it was used since accessCount was read, next get creates new one
+     *
+     * @param accessCount {@link #getAccessCount()} read when this register was picked
+     */
+    public void reclaim(Object context, long accessCount) {
+        I value;
+        synchronized (this) {
+            // marked before reading access count, so get either shows up in it or doesn't take the value without lock
+            mReclaimSequence++;
+            try {
+                if (mAccessCount.get() != accessCount) {
+                    return;
+                }
+                value = peekValue();
+                mValueHolder = null;
+            } finally {
+                mReclaimSequence++;
+            }
+        }
+        disposeQuietly(context, value);
+    }
+
+    private void disposeQuietly(Object context, I value) {
+        if (isDisposable(value)) {
+            try {
+                disposeValue(value, context);
+            } catch (Exception e) {
+                ProviderLog.e(TAG, getType().getName() + " failed to dispose: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void dispose(Object context) {
+        I value;
+        synchronized (this) {
+            value = peekValue();
+            mValueHolder = null;
+        }
+        disposeQuietly(context, value);
+    }
+}
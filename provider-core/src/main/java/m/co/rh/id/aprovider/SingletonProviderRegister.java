@@ -0,0 +1,52 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Helper class to register singleton to the provider
+ */
+class SingletonProviderRegister<I> extends ProviderRegister<I> {
+    private volatile I mValue;
+
+    public SingletonProviderRegister(Class<I> type, ProviderValue<I> providerValue) {
+        super(type, providerValue);
+    }
+
+    @Override
+    public boolean returnsSameInstance() {
+        return true;
+    }
+
+    @Override
+    public I peekValue() {
+        return mValue;
+    }
+
+    @Override
+    public ProviderRegisterKind getKind() {
+        return ProviderRegisterKind.SINGLETON;
+    }
+
+    @Override
+    public I get() {
+        I value = mValue;
+        if (value == null) {
+            long waitStartNanos = startWait();
+            synchronized (this) {
+                endWait(waitStartNanos);
+                value = mValue;
+                if (value == null) {
+                    value = getProviderValue().get();
+                    mValue = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void dispose(Object context) {
+        if (isDisposable(mValue)) {
+            disposeValue(mValue, context);
+            mValue = null;
+        }
+    }
+}
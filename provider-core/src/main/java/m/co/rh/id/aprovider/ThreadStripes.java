@@ -0,0 +1,32 @@
+package m.co.rh.id.aprovider;
+
+/**
+ * Maps threads to a fixed number of stripes, used to spread shared state between threads
+ * without keeping anything per thread
+ */
+final class ThreadStripes {
+    private ThreadStripes() {
+    }
+
+    /**
+     * @return power of two stripe count, number of processors rounded up and capped at 64
+     */
+    static int stripeCount() {
+        int stripeCount = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (stripeCount < processors && stripeCount < 64) {
+            stripeCount <<= 1;
+        }
+        return stripeCount;
+    }
+
+    /**
+     * @param stripeMask stripe count minus one
+     * @return stripe index of current thread
+     */
+    static int index(int stripeMask) {
+        long threadId = Thread.currentThread().getId();
+        int hash = (int) (threadId ^ (threadId >>> 32)) * 0x9E3779B9;
+        return (hash >>> 16) & stripeMask;
+    }
+}
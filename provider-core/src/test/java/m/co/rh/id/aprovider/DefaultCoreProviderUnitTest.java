@@ -0,0 +1,152 @@
+package m.co.rh.id.aprovider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import co.rh.id.lib.concurrent_utils.concurrent.executor.WeightedThreadPool;
+
+public class DefaultCoreProviderUnitTest {
+
+    @After
+    public void tearDown() {
+        ProviderLog.setLogger(null);
+        ProviderExecutors.setVirtualThreads(false);
+    }
+
+    @Test
+    public void getProviderRegistryUsingGet() {
+        CoreProvider testProvider = CoreProvider.createProvider(null,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+
+        assertSame(testProvider, testProvider.get(CoreProviderRegistry.class));
+        assertNull(testProvider.getContext());
+    }
+
+    @Test
+    public void registerAndGet_withoutAndroid() {
+        CoreProvider testProvider = CoreProvider.createProvider(null,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(StringBuilder.class, StringBuilder::new);
+                    providerRegistry.registerLazy(CharSequence.class,
+                            () -> provider.get(StringBuilder.class).append("lazy"));
+                });
+
+        assertSame(testProvider.get(StringBuilder.class), testProvider.get(CharSequence.class));
+        assertEquals("lazy", testProvider.get(StringBuilder.class).toString());
+    }
+
+    @Test
+    public void dispose_invokeCoreProviderDisposableWithContext() {
+        Object context = new Object();
+        CoreProviderDisposable disposable = Mockito.mock(CoreProviderDisposable.class);
+        CoreProviderModule module = Mockito.mock(CoreProviderModule.class);
+        CoreProvider testProvider = CoreProvider.createProvider(context,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerLazy(CoreProviderDisposable.class, () -> disposable);
+                    providerRegistry.registerModule(module);
+                });
+        testProvider.get(CoreProviderDisposable.class);
+
+        testProvider.dispose();
+        Mockito.verify(module).dispose(testProvider);
+        Mockito.verify(disposable, Mockito.timeout(5_000)).dispose(context);
+    }
+
+    @Test
+    public void reclaimableRegister_keepValueUsedAfterPicked() {
+        ReclaimableProviderRegister<StringBuilder> register =
+                new ReclaimableProviderRegister<>(StringBuilder.class, StringBuilder::new, false);
+        StringBuilder value = register.get();
+        long accessCount = register.getAccessCount();
+        assertSame(value, register.get());
+
+        register.reclaim(null, accessCount);
+        assertSame(value, register.peekValue());
+        register.reclaim(null, register.getAccessCount());
+        assertNull(register.peekValue());
+    }
+
+    @Test
+    public void metricsRecorder_snapshotSumsStripes() throws Exception {
+        ProviderMetrics.Histogram.Recorder recorder = new ProviderMetrics.Histogram.Recorder(8);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            long nanos = 1L << (i + 4);
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    recorder.record(nanos);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ProviderMetrics.Histogram histogram = recorder.snapshot();
+        assertEquals(400, histogram.getCount());
+        assertEquals(100 * (16 + 32 + 64 + 128), histogram.getTotalNanos());
+        assertEquals(128, histogram.getMaxNanos());
+        long[] bucketCounts = histogram.getBucketCounts();
+        for (int i = 0; i < threads.length; i++) {
+            assertEquals(100, bucketCounts[i + 5]);
+        }
+    }
+
+    @Test
+    public void nestedProvider_getFromParent() {
+        CoreProvider rootProvider = CoreProvider.createProvider(null,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(StringBuilder.class, StringBuilder::new));
+        CoreProvider testProvider = CoreProvider.createNestedProvider("nested", rootProvider, null,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+
+        assertSame(rootProvider.get(StringBuilder.class), testProvider.get(StringBuilder.class));
+    }
+
+    @Test
+    public void providerLog_useSetLogger() {
+        ProviderLogger logger = Mockito.mock(ProviderLogger.class);
+        ProviderLog.setLogger(logger);
+        CoreProvider.createProvider(null,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setSkipSameType(true);
+                    providerRegistry.register(StringBuilder.class, StringBuilder::new);
+                    providerRegistry.register(StringBuilder.class, StringBuilder::new);
+                });
+
+        Mockito.verify(logger).w(eq("DefaultCoreProvider"), contains(StringBuilder.class.getName()));
+    }
+
+    @Test
+    public void virtualThreads_registerAsyncAndDispose() {
+        ProviderExecutors.setVirtualThreads(true);
+        CoreProviderDisposable disposable = Mockito.mock(CoreProviderDisposable.class);
+        CoreProvider testProvider = CoreProvider.createProvider(null,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(StringBuilder.class, () -> new StringBuilder("async"));
+                    providerRegistry.registerAsync(CharSequence.class,
+                            () -> provider.get(StringBuilder.class).append("-dependent"));
+                    providerRegistry.registerAsync(CoreProviderDisposable.class, () -> disposable);
+                });
+
+        // falls back to the thread pool when virtual threads are not supported
+        assertEquals(!ProviderExecutors.isVirtualThreadSupported(),
+                ProviderExecutors.getDefault() instanceof WeightedThreadPool);
+        assertEquals("async-dependent", testProvider.get(CharSequence.class).toString());
+        testProvider.get(CoreProviderDisposable.class);
+        testProvider.dispose();
+        Mockito.verify(disposable, Mockito.timeout(5_000)).dispose(null);
+    }
+}
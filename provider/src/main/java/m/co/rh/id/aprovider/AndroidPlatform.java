@@ -0,0 +1,65 @@
+package m.co.rh.id.aprovider;
+
+import android.content.Context;
+import android.util.Log;
+
+/**
+ * Android parts of the provider, shared by {@link DefaultProvider} and {@link DefaultNestedProvider}
+ */
+final class AndroidPlatform {
+    static final ProviderLogger LOGGER = new ProviderLogger() {
+        @Override
+        public void w(String tag, String message) {
+            Log.w(tag, message);
+        }
+
+        @Override
+        public void e(String tag, String message, Throwable throwable) {
+            if (throwable != null) {
+                Log.e(tag, message, throwable);
+            } else {
+                Log.e(tag, message);
+            }
+        }
+    };
+
+    // ProviderDisposable receives Context, CoreProviderDisposable is still supported for values shared with JVM code
+    static final ProviderValueDisposer VALUE_DISPOSER = new ProviderValueDisposer() {
+        @Override
+        public boolean isDisposable(Object value) {
+            return value instanceof ProviderDisposable || value instanceof CoreProviderDisposable;
+        }
+
+        @Override
+        public void dispose(Object value, Object context) {
+            if (value instanceof ProviderDisposable) {
+                ((ProviderDisposable) value).dispose((Context) context);
+            } else {
+                ((CoreProviderDisposable) value).dispose(context);
+            }
+        }
+    };
+
+    private AndroidPlatform() {
+    }
+
+    static void init() {
+        ProviderLog.setDefaultLogger(LOGGER);
+    }
+
+    static <P extends Provider & ProviderRegistry> void provideModule(P provider, CoreProviderModule providerModule) {
+        if (providerModule instanceof ProviderModule) {
+            ((ProviderModule) providerModule).provides((ProviderRegistry) provider, (Provider) provider);
+        } else {
+            providerModule.provides(provider, provider);
+        }
+    }
+
+    static void disposeModule(Provider provider, CoreProviderModule providerModule) {
+        if (providerModule instanceof ProviderModule) {
+            ((ProviderModule) providerModule).dispose(provider);
+        } else {
+            providerModule.dispose(provider);
+        }
+    }
+}
@@ -1,65 +1,57 @@
 package m.co.rh.id.aprovider;
 
 import android.content.Context;
-import android.util.Log;
 
 import java.util.concurrent.ExecutorService;
 
 /**
- * Nested provider implementation
+ * Android nested provider, see {@link DefaultProvider}
  */
-class DefaultNestedProvider extends DefaultProvider {
-    private static final String TAG = "NestedDefaultProvider";
-
-    private String mName;
-    private Provider mParentProvider;
+class DefaultNestedProvider extends DefaultCoreNestedProvider implements Provider, ProviderRegistry {
+    static {
+        AndroidPlatform.init();
+    }
 
     DefaultNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule) {
-        super(context, rootModule, false);
-        mName = name;
-        mParentProvider = parentProvider;
-        start();
+        super(name, parentProvider, context, rootModule);
     }
 
     DefaultNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule, ExecutorService executorService) {
-        super(context, rootModule, executorService, false);
-        mName = name;
-        mParentProvider = parentProvider;
-        start();
+        super(name, parentProvider, context, rootModule, executorService);
+    }
+
+    DefaultNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule,
+                          ProviderExecutorConfig executorConfig) {
+        super(name, parentProvider, context, rootModule, executorConfig);
+    }
+
+    @Override
+    public Context getContext() {
+        return (Context) super.getContext();
+    }
+
+    @Override
+    public void registerModule(ProviderModule providerModule) {
+        super.registerModule(providerModule);
+    }
+
+    @Override
+    void provideModule(CoreProviderModule providerModule) {
+        AndroidPlatform.provideModule(this, providerModule);
     }
 
     @Override
-    public <I> I get(Class<I> clazz) {
-        try {
-            return super.get(clazz);
-        } catch (ProviderNullPointerException e) {
-            Log.d(TAG, clazz.getName() + " not found in " + mName
-                    + ", try to find at parent");
-            if (mParentProvider != null) {
-                return mParentProvider.get(clazz);
-            }
-        }
-        throw new ProviderNullPointerException(clazz.getName() + " not found");
+    void disposeModule(CoreProviderModule providerModule) {
+        AndroidPlatform.disposeModule(this, providerModule);
     }
 
     @Override
-    public <I> ProviderValue<I> lazyGet(Class<I> clazz) {
-        try {
-            return super.lazyGet(clazz);
-        } catch (ProviderNullPointerException e) {
-            Log.d(TAG, clazz.getName() + " not found in " + mName
-                    + ", try to find at parent");
-            if (mParentProvider != null) {
-                return mParentProvider.lazyGet(clazz);
-            }
-        }
-        throw new ProviderNullPointerException(clazz.getName() + " not found");
+    Class<? extends CoreProviderRegistry> getRegistryType() {
+        return ProviderRegistry.class;
     }
 
     @Override
-    public synchronized void dispose() {
-        super.dispose();
-        mName = null;
-        mParentProvider = null;
+    ProviderValueDisposer getValueDisposer() {
+        return AndroidPlatform.VALUE_DISPOSER;
     }
-}
\ No newline at end of file
+}
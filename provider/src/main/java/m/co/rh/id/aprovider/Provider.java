@@ -3,9 +3,10 @@ package m.co.rh.id.aprovider;
 import android.content.Context;
 
 /**
- * Main provider interface to provide components/services/objects
+ * Main provider interface to provide components/services/objects,
+ * Android version of {@link CoreProvider} with {@link Context} and {@link ProviderModule}
  */
-public interface Provider {
+public interface Provider extends CoreProvider {
     /**
      * @param context    for this provider
      * @param rootModule root for this provider
@@ -15,69 +16,61 @@ public interface Provider {
     }
 
     /**
-     * @param name           Provider name for debugging purposes
-     * @param parentProvider parent for this provider
+     * Same as {@link #createProvider(Context, ProviderModule)}, but async initialization, pool prewarming and disposal
+     * run on the executor configured by executorConfig instead of the shared one
+     *
      * @param context        for this provider
      * @param rootModule     root for this provider
-     * @return nested provider that will traverse up to parent provider if current provider doesn't have value
+     * @param executorConfig executor configuration for this provider
      */
-    static Provider createNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule) {
-        return new DefaultNestedProvider(name, parentProvider, context, rootModule);
+    static Provider createProvider(Context context, ProviderModule rootModule, ProviderExecutorConfig executorConfig) {
+        return new DefaultProvider(context, rootModule, executorConfig, true);
     }
 
     /**
-     * Get registered object from provider,
+     * Same as {@link #createProvider(Context, ProviderModule)}, but the registry is sealed after root module is registered.
+     * The registrations are compacted into immutable lookup table, and further registration is rejected
+     * with IllegalStateException.
      *
-     * @param clazz class to be retrieved
-     * @param <I>   Object type to be returned
-     * @return object with type I
-     * @throws NullPointerException if not found
-     */
-    <I> I get(Class<I> clazz);
-
-    /**
-     * Same as {@link #get(Class)}, this method doesn't throw NullPointerException or any exception,
-     * just return null value if not found. This method should swallow any exception and return null
-     *
-     * @param clazz class to be retrieved
-     * @param <I>   object type to be returned
-     * @return object with type I
+     * @param context    for this provider
+     * @param rootModule root for this provider
      */
-    <I> I tryGet(Class<I> clazz);
+    static Provider createFrozenProvider(Context context, ProviderModule rootModule) {
+        DefaultProvider defaultProvider = new DefaultProvider(context, rootModule);
+        defaultProvider.seal();
+        return defaultProvider;
+    }
 
     /**
-     * Defer {@link #get(Class)} execution into ProviderValue instance.
-     * To get the actual value call ProviderValue.get()
-     *
-     * @param clazz class to be retrieved
-     * @param <I>   object type to be returned
-     * @return ProviderValue with type I
-     * @throws NullPointerException if clazz with type I not found
+     * @param name           Provider name for debugging purposes
+     * @param parentProvider parent for this provider
+     * @param context        for this provider
+     * @param rootModule     root for this provider
+     * @return nested provider that will traverse up to parent provider if current provider doesn't have value
      */
-    <I> ProviderValue<I> lazyGet(Class<I> clazz);
+    static Provider createNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule) {
+        return new DefaultNestedProvider(name, parentProvider, context, rootModule);
+    }
 
     /**
-     * Same as {@link #lazyGet(Class)} with difference not throwing NullPointerException
-     * if the class type is not registered yet.
-     * <p>
-     * This method guarantees to return ProviderValue without exception,
-     * but not guarantee that ProviderValue.get() is not null.
-     * ProviderValue.get() may return null without throwing any exception
+     * Same as {@link #createNestedProvider(String, Provider, Context, ProviderModule)},
+     * but runs on the executor configured by executorConfig instead of the executor of the parent.
+     * Use config with max concurrency to isolate this provider in its own bulkhead
      *
-     * @param clazz class to be retrieved
-     * @param <I>   object type to be returned
-     * @return ProviderValue with type I
+     * @param name           Provider name for debugging purposes
+     * @param parentProvider parent for this provider
+     * @param context        for this provider
+     * @param rootModule     root for this provider
+     * @param executorConfig executor configuration for this provider
      */
-    <I> ProviderValue<I> tryLazyGet(Class<I> clazz);
+    static Provider createNestedProvider(String name, Provider parentProvider, Context context, ProviderModule rootModule,
+                                         ProviderExecutorConfig executorConfig) {
+        return new DefaultNestedProvider(name, parentProvider, context, rootModule, executorConfig);
+    }
 
     /**
      * Get the context that was supplied when creating this provider.
      */
+    @Override
     Context getContext();
-
-    /**
-     * Clear all registered object from provider, and perform disposal/clean up of for all {@link ProviderModule}
-     * this provider will not be able to be used once this method is called, new one will need to be instantiated
-     */
-    void dispose();
 }
@@ -3,7 +3,7 @@ package m.co.rh.id.aprovider;
 /**
  * Interface to allow Android module to register component/service dependencies
  */
-public interface ProviderModule {
+public interface ProviderModule extends CoreProviderModule {
     /**
      * Entry point to register components/services or ProviderModules
      *
@@ -20,4 +20,14 @@ public interface ProviderModule {
     default void dispose(Provider provider) {
         // Default leave blank
     }
+
+    @Override
+    default void provides(CoreProviderRegistry providerRegistry, CoreProvider provider) {
+        provides((ProviderRegistry) providerRegistry, (Provider) provider);
+    }
+
+    @Override
+    default void dispose(CoreProvider provider) {
+        dispose((Provider) provider);
+    }
 }
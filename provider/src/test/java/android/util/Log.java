@@ -25,4 +25,10 @@ public class Log {
         System.out.println("ERROR: " + tag + ": " + msg);
         return 0;
     }
+
+    public static int e(String tag, String msg, Throwable tr) {
+        System.out.println("ERROR: " + tag + ": " + msg);
+        tr.printStackTrace(System.out);
+        return 0;
+    }
 }
@@ -19,6 +19,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -26,6 +28,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import co.rh.id.lib.concurrent_utils.concurrent.executor.WeightedThreadPool;
 import m.co.rh.id.aprovider.test.IServiceA;
@@ -650,6 +653,61 @@ public class DefaultNestedProviderUnitTest {
         assertSame(testProvider.tryLazyGet(ScheduledExecutorService.class).get(), scheduledExecutorService);
     }
 
+    @Test
+    public void singletonParent_findAndContains() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, () -> serviceA));
+        Provider testProvider = Provider.createNestedProvider("test",
+                rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(IServiceB.class,
+                                () -> new ServiceBImpl(provider.get(IServiceA.class))));
+
+        assertTrue(testProvider.contains(IServiceA.class));
+        assertTrue(testProvider.contains(IServiceB.class));
+        assertFalse(testProvider.contains(MyPojo.class));
+        assertFalse(rootProvider.contains(IServiceB.class));
+        assertSame(testProvider.find(IServiceA.class), serviceA);
+        assertSame(testProvider.find(IServiceA1.class), serviceA);
+        assertNull(testProvider.find(MyPojo.class));
+        assertSame(testProvider.find(IServiceB.class).getIServiceA(), serviceA);
+    }
+
+    @Test
+    public void singletonParent_deepNestedGet() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(IServiceA.class, () -> serviceA);
+                    providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+                });
+        Provider testProvider = rootProvider;
+        for (int i = 0; i < 5; i++) {
+            testProvider = Provider.createNestedProvider("test" + i,
+                    testProvider, mockContext, (providerRegistry, provider) -> {
+                        // leave blank
+                    });
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(testProvider.get(IServiceA.class), serviceA);
+            assertSame(testProvider.get(IServiceA1.class), serviceA);
+        }
+        // factory of ancestor still produce new instances
+        assertNotSame(testProvider.get(MyPojo.class), testProvider.get(MyPojo.class));
+
+        // registration on the nested provider must take precedence over ancestor
+        ServiceAImpl nestedServiceA = new ServiceAImpl();
+        ((ProviderRegistry) testProvider).register(IServiceA.class, () -> nestedServiceA);
+        assertSame(testProvider.get(IServiceA.class), nestedServiceA);
+
+        // ancestor disposed, value should no longer be resolved from it
+        rootProvider.dispose();
+        assertNull(testProvider.tryGet(MyPojo.class));
+    }
+
     @Test
     public void factoryParent_registrationAndExactGet() {
         // testing real case scenario where you need both ExecutorService & ScheduledExecutorService
@@ -768,4 +826,220 @@ public class DefaultNestedProviderUnitTest {
         assertSame(testProvider.lazyGet(IServiceA.class).get(), serviceA1);
         assertSame(testProvider.tryLazyGet(IServiceA.class).get(), serviceA1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void key_getValueFromParent() {
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, ServiceAImpl::new));
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerFactory(MyPojo.class, MyPojo::new));
+
+        ProviderKey<IServiceA> serviceAKey = testProvider.key(IServiceA.class);
+        ProviderKey<MyPojo> myPojoKey = testProvider.key(MyPojo.class);
+        assertSame(rootProvider.get(IServiceA.class), testProvider.get(serviceAKey));
+        assertNotSame(testProvider.get(myPojoKey), testProvider.get(myPojoKey));
+        assertThrows(NullPointerException.class, () -> rootProvider.key(MyPojo.class));
+
+        rootProvider.dispose();
+        assertThrows(NullPointerException.class, () -> testProvider.get(serviceAKey));
+        assertNotNull(testProvider.get(myPojoKey));
+    }
+
+    @Test
+    public void registerPool_acquireFromParent() {
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                                new ProviderPoolConfig<>(1)));
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) -> {
+                });
+
+        MyPojo myPojo = testProvider.acquire(MyPojo.class);
+        assertThrows(IllegalStateException.class, () -> rootProvider.acquire(MyPojo.class));
+        testProvider.release(MyPojo.class, myPojo);
+        assertSame(myPojo, rootProvider.acquire(MyPojo.class));
+    }
+
+    @Test
+    public void providerListener_inheritedFromParent() {
+        ProviderListener providerListener = Mockito.mock(ProviderListener.class);
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setProviderListener(providerListener);
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                });
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(MyPojo.class, MyPojo::new));
+
+        testProvider.get(MyPojo.class);
+        testProvider.get(IServiceA.class);
+        Mockito.verify(providerListener)
+                .onCreate(eq(MyPojo.class), eq(ProviderRegisterKind.LAZY), Mockito.anyLong());
+        Mockito.verify(providerListener)
+                .onCreate(eq(IServiceA.class), eq(ProviderRegisterKind.LAZY), Mockito.anyLong());
+        Mockito.verify(providerListener)
+                .onResolve(eq(IServiceA.class), eq(true), Mockito.anyLong());
+    }
+
+    @Test
+    public void metrics_countParentFallbacks() {
+        ProviderMetrics metrics = new ProviderMetrics();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setMetrics(metrics);
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                });
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(MyPojo.class, MyPojo::new));
+
+        testProvider.get(MyPojo.class);
+        testProvider.get(IServiceA.class);
+        testProvider.get(IServiceA.class);
+
+        ProviderMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.getTypeStats(MyPojo.class).getParentFallbacks());
+        assertEquals(1, snapshot.getTypeStats(MyPojo.class).getResolvePathCount(ProviderMetrics.ResolvePath.EXACT));
+        assertEquals(2, snapshot.getTypeStats(IServiceA.class).getHits());
+        assertEquals(2, snapshot.getTypeStats(IServiceA.class).getParentFallbacks());
+    }
+
+    @Test
+    public void timelineRecorder_inheritedFromParent() {
+        ProviderTimelineRecorder timelineRecorder = new ProviderTimelineRecorder();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> providerRegistry.setTimelineRecorder(timelineRecorder));
+        timelineRecorder.clear();
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(MyPojo.class, MyPojo::new));
+
+        testProvider.get(MyPojo.class);
+
+        List<ProviderTimelineRecorder.Entry> entries = timelineRecorder.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("DefaultNestedProvider[nested].start", entries.get(0).getName());
+        assertNull(entries.get(0).getKind());
+        assertEquals(MyPojo.class.getName(), entries.get(1).getName());
+        assertSame(ProviderRegisterKind.LAZY, entries.get(1).getKind());
+    }
+
+    @Test
+    public void executorConfig_isolateNestedProviderInOwnBulkhead() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CountDownLatch nestedLatch = new CountDownLatch(1);
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerAsync(IServiceA.class, () -> {
+                            // occupy the only thread of root pool
+                            try {
+                                releaseLatch.await();
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            return new ServiceAImpl();
+                        }),
+                new ProviderExecutorConfig().setMaxConcurrency(1).setThreadName("root"));
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerAsync(MyPojo.class, () -> {
+                            nestedLatch.countDown();
+                            return new MyPojo();
+                        }),
+                new ProviderExecutorConfig().setMaxConcurrency(1).setThreadName("nested"));
+
+        assertTrue(nestedLatch.await(5, TimeUnit.SECONDS));
+        releaseLatch.countDown();
+        assertNotNull(testProvider.get(IServiceA.class));
+        testProvider.dispose();
+        rootProvider.dispose();
+    }
+
+    @Test
+    public void getAsync_fromParentAsync() throws Exception {
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerAsync(IServiceA.class, ServiceAImpl::new));
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+        CountDownLatch completedLatch = new CountDownLatch(1);
+        AtomicReference<IServiceA> completedValue = new AtomicReference<>();
+
+        testProvider.getAsync(IServiceA.class).whenComplete((value, throwable) -> {
+            completedValue.set(value);
+            completedLatch.countDown();
+        });
+
+        assertTrue(completedLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(completedValue.get() instanceof ServiceAImpl);
+        assertSame(rootProvider.get(IServiceA.class), testProvider.getAsync(IServiceA.class).getNow());
+    }
+
+    @Test
+    public void peek_fromParent() {
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new));
+        Provider testProvider = Provider.createNestedProvider("nested", rootProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+
+        assertNull(testProvider.peek(IServiceA.class));
+        IServiceA serviceA = rootProvider.get(IServiceA.class);
+        assertSame(serviceA, testProvider.peek(IServiceA.class));
+    }
+
+    @Test
+    public void get_ancestorRegistrationAfterLookupTakesPrecedence() {
+        ServiceAImpl rootServiceA = new ServiceAImpl();
+        ServiceAImpl middleServiceA = new ServiceAImpl();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, () -> rootServiceA));
+        Provider middleProvider = Provider.createNestedProvider("middle", rootProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+        Provider testProvider = Provider.createNestedProvider("test", middleProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+        assertSame(rootServiceA, testProvider.get(IServiceA.class));
+
+        middleProvider.get(ProviderRegistry.class).register(IServiceA.class, () -> middleServiceA);
+
+        assertSame(middleServiceA, testProvider.get(IServiceA.class));
+        assertSame(middleServiceA, testProvider.get(testProvider.key(IServiceA.class)));
+    }
+
+    @Test
+    public void key_ancestorRegistrationAfterKeyTakesPrecedence() {
+        ServiceAImpl rootServiceA = new ServiceAImpl();
+        ServiceAImpl middleServiceA = new ServiceAImpl();
+        Provider rootProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, () -> rootServiceA));
+        Provider middleProvider = Provider.createNestedProvider("middle", rootProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+        Provider testProvider = Provider.createNestedProvider("test", middleProvider, mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+        ProviderKey<IServiceA> serviceAKey = testProvider.key(IServiceA.class);
+        assertSame(rootServiceA, testProvider.get(serviceAKey));
+
+        middleProvider.get(ProviderRegistry.class).register(IServiceA.class, () -> middleServiceA);
+
+        assertSame(middleServiceA, testProvider.get(IServiceA.class));
+        assertSame(middleServiceA, testProvider.get(serviceAKey));
+    }
+}
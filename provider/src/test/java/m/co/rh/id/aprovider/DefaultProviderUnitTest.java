@@ -19,13 +19,25 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import co.rh.id.lib.concurrent_utils.concurrent.executor.WeightedThreadPool;
 import m.co.rh.id.aprovider.test.IServiceA;
@@ -165,6 +177,89 @@ public class DefaultProviderUnitTest {
 
     }
 
+    @Test
+    public void findAndContains() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        AtomicInteger lazyCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(IServiceA.class, () -> serviceA);
+                    providerRegistry.registerLazy(IServiceB.class, () -> {
+                        lazyCount.incrementAndGet();
+                        return new ServiceBImpl(serviceA);
+                    });
+                });
+
+        assertTrue(testProvider.contains(IServiceA.class));
+        assertTrue(testProvider.contains(IServiceA1.class));
+        assertTrue(testProvider.contains(IServiceB.class));
+        assertFalse(testProvider.contains(ServiceAChildImpl.class));
+        // contains must not instantiate lazy value
+        assertEquals(0, lazyCount.get());
+
+        assertSame(testProvider.find(IServiceA.class), serviceA);
+        assertNull(testProvider.find(ServiceAChildImpl.class));
+
+        // unlike tryGet, find doesn't swallow exception from the value
+        Provider failingProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerFactory(MyPojo.class, () -> {
+                            throw new IllegalStateException("failed");
+                        }));
+        assertNull(failingProvider.tryGet(MyPojo.class));
+        assertThrows(IllegalStateException.class, () -> failingProvider.find(MyPojo.class));
+    }
+
+    @Test
+    public void contains_missNeverCreatesValue() {
+        AtomicInteger factoryCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerFactory(MyPojo.class, () -> {
+                            factoryCount.incrementAndGet();
+                            return new MyPojo();
+                        }));
+
+        assertFalse(testProvider.contains(Runnable.class));
+        assertFalse(testProvider.contains(Runnable.class));
+        assertTrue(testProvider.contains(MyPojo.class));
+        assertEquals(0, factoryCount.get());
+    }
+
+    @Test
+    public void notFound_exceptionIsStackless() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    // leave blank
+                });
+
+        NullPointerException exception = assertThrows(NullPointerException.class,
+                () -> testProvider.get(IServiceA.class));
+        assertEquals(IServiceA.class.getName() + " not found", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    public void singleton_lazyGetReturnsSameHandle() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerLazy(IServiceB.class,
+                            () -> new ServiceBImpl(provider.get(IServiceA.class)));
+                    providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+                });
+
+        assertSame(testProvider.lazyGet(IServiceA.class), testProvider.lazyGet(IServiceA.class));
+        assertSame(testProvider.lazyGet(IServiceB.class), testProvider.lazyGet(IServiceB.class));
+        assertSame(testProvider.tryLazyGet(IServiceA.class), testProvider.tryLazyGet(IServiceA.class));
+        assertSame(testProvider.lazyGet(IServiceA1.class), testProvider.lazyGet(IServiceA1.class));
+        assertSame(testProvider.lazyGet(IServiceA1.class).get(), testProvider.get(IServiceA.class));
+
+        // factory produce new instance on each handle, handle must not be shared
+        assertNotSame(testProvider.lazyGet(MyPojo.class), testProvider.lazyGet(MyPojo.class));
+        assertNotSame(testProvider.tryLazyGet(MyPojo.class), testProvider.tryLazyGet(MyPojo.class));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void singleton_registerSameClass() {
         ServiceAImpl serviceA = new ServiceAImpl();
@@ -191,6 +286,126 @@ public class DefaultProviderUnitTest {
         assertSame(executorService1, result);
     }
 
+    @Test
+    public void singleton_getBySuperType_resolvedOnce() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        AtomicInteger factoryCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerFactory(MyPojo.class, () -> {
+                        factoryCount.incrementAndGet();
+                        return new MyPojo();
+                    });
+                    providerRegistry.register(IServiceA.class, () -> serviceA);
+                });
+
+        // first lookup scans the registry, probing the factory along the way
+        assertSame(testProvider.get(IServiceA1.class), serviceA);
+        assertEquals(1, factoryCount.get());
+
+        // next lookups reuse the resolved register without scanning again
+        assertSame(testProvider.get(IServiceA1.class), serviceA);
+        assertSame(testProvider.get(IServiceA1.class), serviceA);
+        assertEquals(1, factoryCount.get());
+    }
+
+    @Test
+    public void instanceProbeDisabled_onlyDeclaredTypesResolved() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        AtomicInteger factoryCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setInstanceProbe(false);
+                    providerRegistry.registerFactory(MyPojo.class, () -> {
+                        factoryCount.incrementAndGet();
+                        return new MyPojo();
+                    });
+                    providerRegistry.register(IServiceA.class, () -> serviceA);
+                    providerRegistry.registerAlias(IServiceA.class, ServiceAImpl.class);
+                });
+
+        // declared alias and its super types are resolved
+        assertSame(testProvider.get(ServiceAImpl.class), serviceA);
+        assertSame(testProvider.get(ServiceAParentImpl.class), serviceA);
+        assertSame(testProvider.get(IServiceA1.class), serviceA);
+        assertSame(testProvider.lazyGet(IServiceA1.class).get(), serviceA);
+
+        // undeclared type is not found and factory never invoked to check the type
+        assertNull(testProvider.tryGet(ServiceAChildImpl.class));
+        assertThrows(NullPointerException.class, () -> testProvider.lazyGet(IServiceB.class));
+        assertEquals(0, factoryCount.get());
+    }
+
+    @Test
+    public void instanceProbeDisabled_lazySingletonResolvedByAlias() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setInstanceProbe(false);
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerAlias(IServiceA.class, IServiceA1.class);
+                });
+
+        IServiceA1 serviceA1 = testProvider.get(IServiceA1.class);
+        assertNotNull(serviceA1);
+        assertSame(testProvider.get(IServiceA.class), serviceA1);
+        assertNull(testProvider.tryGet(ServiceAImpl.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerAlias_typeNotRegistered() {
+        Provider.createProvider(mockContext, (providerRegistry, provider) ->
+                providerRegistry.registerAlias(IServiceA.class, IServiceA1.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerAlias_aliasAlreadyRegistered() {
+        Provider.createProvider(mockContext, (providerRegistry, provider) -> {
+            providerRegistry.register(IServiceA.class, ServiceAImpl::new);
+            providerRegistry.register(IServiceA1.class, ServiceAImpl::new);
+            providerRegistry.registerAlias(IServiceA.class, IServiceA1.class);
+        });
+    }
+
+    @Test
+    public void frozen_registrationAndGet() {
+        ServiceAImpl serviceA = new ServiceAImpl();
+        WeightedThreadPool executorService1 = new WeightedThreadPool();
+        ScheduledExecutorService executorService2 = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger factoryCount = new AtomicInteger();
+        Provider testProvider = Provider.createFrozenProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(IServiceA.class, () -> serviceA);
+                    providerRegistry.registerLazy(IServiceB.class,
+                            () -> new ServiceBImpl(provider.get(IServiceA.class)));
+                    providerRegistry.register(WeightedThreadPool.class, () -> executorService1);
+                    providerRegistry.register(ScheduledExecutorService.class, () -> executorService2);
+                    providerRegistry.registerFactory(MyPojo.class, () -> {
+                        factoryCount.incrementAndGet();
+                        return new MyPojo();
+                    });
+                });
+
+        assertSame(testProvider.get(IServiceA.class), serviceA);
+        assertSame(testProvider.get(IServiceA1.class), serviceA);
+        assertSame(testProvider.get(ServiceAImpl.class), serviceA);
+        assertSame(testProvider.get(ServiceAParentImpl.class), serviceA);
+        assertSame(testProvider.get(IServiceB.class).getIServiceA(), serviceA);
+        // same parent class still return first registered
+        assertSame(testProvider.get(ExecutorService.class), executorService1);
+        assertNotSame(testProvider.get(MyPojo.class), testProvider.get(MyPojo.class));
+        assertEquals(2, factoryCount.get());
+        assertNull(testProvider.tryGet(ServiceAChildImpl.class));
+        assertSame(testProvider.lazyGet(IServiceA1.class).get(), serviceA);
+
+        // registration is rejected once sealed
+        ProviderRegistry providerRegistry = testProvider.get(ProviderRegistry.class);
+        assertThrows(IllegalStateException.class,
+                () -> providerRegistry.register(IServiceA1.class, ServiceAImpl::new));
+        assertThrows(IllegalStateException.class,
+                () -> providerRegistry.registerModule(new ModuleA()));
+        testProvider.dispose();
+    }
+
     @Test
     public void module_registrationAndGet() {
         Provider testProvider = Provider.createProvider(mockContext,
@@ -264,6 +479,34 @@ public class DefaultProviderUnitTest {
         assertNull(serviceAChildImplFromProvider);
     }
 
+    @Test
+    public void lazySingleton_concurrentGet_constructedOnce() throws Exception {
+        AtomicInteger constructCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> providerRegistry.registerLazy(
+                        IServiceA.class, () -> {
+                            constructCount.incrementAndGet();
+                            return new ServiceAImpl();
+                        }));
+        int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<IServiceA>> futures = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                return testProvider.get(IServiceA.class);
+            }));
+        }
+        startLatch.countDown();
+        IServiceA serviceA = futures.get(0).get();
+        for (Future<IServiceA> future : futures) {
+            assertSame(serviceA, future.get());
+        }
+        executorService.shutdown();
+        assertEquals(1, constructCount.get());
+    }
+
     /**
      * Special test if decide to have global ExecutorService in project
      */
@@ -642,4 +885,782 @@ public class DefaultProviderUnitTest {
         assertSame(testProvider.lazyGet(IServiceA.class).get(), serviceA1);
         assertSame(testProvider.tryLazyGet(IServiceA.class).get(), serviceA1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void key_getValue() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+                });
+
+        ProviderKey<IServiceA> serviceAKey = testProvider.key(IServiceA.class);
+        ProviderKey<MyPojo> myPojoKey = testProvider.key(MyPojo.class);
+        assertSame(serviceAKey, testProvider.key(IServiceA.class));
+        assertSame(IServiceA.class, serviceAKey.getType());
+        assertSame(testProvider.get(IServiceA.class), testProvider.get(serviceAKey));
+        assertNotSame(testProvider.get(myPojoKey), testProvider.get(myPojoKey));
+        assertThrows(NullPointerException.class, () -> testProvider.key(IServiceB.class));
+
+        // key from other provider resolved by type
+        Provider otherProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, ServiceAImpl::new));
+        assertSame(otherProvider.get(IServiceA.class), otherProvider.get(serviceAKey));
+    }
+
+    @Test
+    public void key_concurrentRegistrationInvalidatesKey() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            ServiceAImpl serviceA = new ServiceAImpl();
+            Provider testProvider = Provider.createProvider(mockContext,
+                    (providerRegistry, provider) ->
+                            providerRegistry.register(ServiceAChildImpl.class, ServiceAChildImpl::new));
+            ProviderRegistry providerRegistry = testProvider.get(ProviderRegistry.class);
+            // resolve once so the key is created from the memoized lookup instead of scanning the registry
+            testProvider.get(IServiceA.class);
+            CountDownLatch startLatch = new CountDownLatch(1);
+            Thread registerThread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                // exact type takes precedence over the assignable ServiceAChildImpl
+                providerRegistry.register(IServiceA.class, () -> serviceA);
+            });
+            registerThread.start();
+            startLatch.countDown();
+            ProviderKey<IServiceA> serviceAKey = testProvider.key(IServiceA.class);
+            registerThread.join();
+
+            assertSame(serviceA, testProvider.get(serviceAKey));
+            testProvider.dispose();
+        }
+    }
+
+    @Test
+    public void registerPool_releaseAfterDispose() {
+        DisposableRegisterService registerService = Mockito.mock(DisposableRegisterService.class);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(DisposableRegisterService.class, () -> registerService,
+                                new ProviderPoolConfig<DisposableRegisterService>(1)));
+
+        DisposableRegisterService acquired = testProvider.acquire(DisposableRegisterService.class);
+        testProvider.dispose();
+        Mockito.verify(registerService, Mockito.after(100).never()).dispose(mockContext);
+        testProvider.release(DisposableRegisterService.class, acquired);
+
+        Mockito.verify(registerService, Mockito.timeout(5_000)).dispose(mockContext);
+    }
+
+    @Test
+    public void registerPool_acquireAndRelease() {
+        AtomicInteger createdCount = new AtomicInteger();
+        AtomicInteger resetCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, () -> {
+                            createdCount.incrementAndGet();
+                            return new MyPojo();
+                        }, new ProviderPoolConfig<MyPojo>(2)
+                                .setResetHook(myPojo -> {
+                                    resetCount.incrementAndGet();
+                                    myPojo.setName(null);
+                                })));
+
+        MyPojo myPojo1 = testProvider.acquire(MyPojo.class);
+        // probing for unregistered type must not take instance from the pool
+        assertThrows(NullPointerException.class, () -> testProvider.lazyGet(IServiceA.class));
+        MyPojo myPojo2 = testProvider.get(MyPojo.class);
+        assertNotSame(myPojo1, myPojo2);
+        assertThrows(IllegalStateException.class, () -> testProvider.acquire(MyPojo.class));
+
+        myPojo1.setName("used");
+        testProvider.release(MyPojo.class, myPojo1);
+        assertEquals(1, resetCount.get());
+        MyPojo myPojo3 = testProvider.acquire(MyPojo.class);
+        assertSame(myPojo1, myPojo3);
+        assertNull(myPojo3.getName());
+        assertEquals(2, createdCount.get());
+    }
+
+    @Test
+    public void registerPool_releaseIgnoresForeignAndReleasedValue() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                                new ProviderPoolConfig<MyPojo>(2).setStripedCacheSize(2)));
+
+        MyPojo myPojo = testProvider.acquire(MyPojo.class);
+        testProvider.release(MyPojo.class, myPojo);
+        testProvider.release(MyPojo.class, myPojo);
+        testProvider.release(MyPojo.class, new MyPojo());
+
+        MyPojo myPojo1 = testProvider.acquire(MyPojo.class);
+        MyPojo myPojo2 = testProvider.acquire(MyPojo.class);
+        assertSame(myPojo, myPojo1);
+        assertNotSame(myPojo1, myPojo2);
+        assertThrows(IllegalStateException.class, () -> testProvider.acquire(MyPojo.class));
+    }
+
+    @Test
+    public void registerPool_releaseTracksEveryCreatedValue() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                                new ProviderPoolConfig<MyPojo>(32)));
+
+        List<MyPojo> acquired = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            acquired.add(testProvider.acquire(MyPojo.class));
+        }
+        for (MyPojo myPojo : acquired) {
+            testProvider.release(MyPojo.class, myPojo);
+            testProvider.release(MyPojo.class, myPojo);
+        }
+        Set<MyPojo> reacquired = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 32; i++) {
+            reacquired.add(testProvider.acquire(MyPojo.class));
+        }
+        assertEquals(32, reacquired.size());
+        assertTrue(reacquired.containsAll(acquired));
+        assertThrows(IllegalStateException.class, () -> testProvider.acquire(MyPojo.class));
+    }
+
+    @Test
+    public void registerPool_blockWhenExhausted() throws Exception {
+        DisposableRegisterPoolService disposablePoolService = Mockito.mock(DisposableRegisterPoolService.class);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(DisposableRegisterPoolService.class,
+                                () -> disposablePoolService,
+                                new ProviderPoolConfig<DisposableRegisterPoolService>(1)
+                                        .setBlockWhenExhausted(true, 5_000)));
+
+        DisposableRegisterPoolService acquired = testProvider.acquire(DisposableRegisterPoolService.class);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<DisposableRegisterPoolService> waiting =
+                executorService.submit(() -> testProvider.acquire(DisposableRegisterPoolService.class));
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+        testProvider.release(DisposableRegisterPoolService.class, acquired);
+        assertSame(acquired, waiting.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+
+        testProvider.release(DisposableRegisterPoolService.class, acquired);
+        testProvider.dispose();
+        Mockito.verify(disposablePoolService, Mockito.timeout(5_000).times(1))
+                .dispose(mockContext);
+    }
+
+    @Test
+    public void registerPool_prewarmMinIdle() throws Exception {
+        CountDownLatch createdLatch = new CountDownLatch(2);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, () -> {
+                            createdLatch.countDown();
+                            return new MyPojo();
+                        }, new ProviderPoolConfig<MyPojo>(4).setMinIdle(2)));
+
+        assertTrue(createdLatch.await(5, TimeUnit.SECONDS));
+        assertNotNull(testProvider.acquire(MyPojo.class));
+    }
+
+    @Test
+    public void registerPool_stripedCache() throws Exception {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerPool(MyPojo.class, MyPojo::new,
+                                new ProviderPoolConfig<MyPojo>(1).setStripedCacheSize(2)));
+
+        MyPojo myPojo = testProvider.acquire(MyPojo.class);
+        testProvider.release(MyPojo.class, myPojo);
+        assertSame(myPojo, testProvider.acquire(MyPojo.class));
+        testProvider.release(MyPojo.class, myPojo);
+
+        // cached in the stripe of this thread, other thread takes it once the pool is exhausted
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<MyPojo> otherThreadAcquire = executorService.submit(() -> testProvider.acquire(MyPojo.class));
+        assertSame(myPojo, otherThreadAcquire.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+        assertThrows(IllegalStateException.class, () -> testProvider.acquire(MyPojo.class));
+    }
+
+    @Test
+    public void pool_droppedInstancesCollectable() throws Exception {
+        DisposableRegisterPoolService disposedPoolService = Mockito.mock(DisposableRegisterPoolService.class,
+                Mockito.withSettings().extraInterfaces(ProviderIsDisposed.class));
+        Mockito.when(((ProviderIsDisposed) disposedPoolService).isDisposed()).thenReturn(true);
+        DisposableRegisterPoolService heldPoolService = Mockito.mock(DisposableRegisterPoolService.class);
+        List<DisposableRegisterPoolService> poolServices = new ArrayList<>();
+        poolServices.add(disposedPoolService);
+        poolServices.add(heldPoolService);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Provider testProvider = new DefaultProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerPool(MyPojo.class, MyPojo::new);
+                    providerRegistry.registerPool(DisposableRegisterPoolService.class,
+                            () -> poolServices.remove(0));
+                }, executorService);
+
+        WeakReference<MyPojo> droppedReference = new WeakReference<>(testProvider.get(MyPojo.class));
+        for (int i = 0; i < 10 && droppedReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(droppedReference.get());
+
+        assertSame(disposedPoolService, testProvider.get(DisposableRegisterPoolService.class));
+        assertSame(heldPoolService, testProvider.get(DisposableRegisterPoolService.class));
+        testProvider.dispose();
+        Mockito.verify(heldPoolService, Mockito.timeout(5_000).times(1)).dispose(mockContext);
+        Mockito.verify(disposedPoolService, Mockito.never()).dispose(mockContext);
+        executorService.shutdown();
+    }
+
+    @Test
+    public void registerExpiring_disposeAfterIdleTimeout() throws Exception {
+        List<DisposableRegisterLazyService> createdServices = new ArrayList<>();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerExpiring(DisposableRegisterLazyService.class, () -> {
+                            DisposableRegisterLazyService service = Mockito.mock(DisposableRegisterLazyService.class);
+                            createdServices.add(service);
+                            return service;
+                        }, 100));
+        assertTrue(createdServices.isEmpty());
+
+        DisposableRegisterLazyService service1 = testProvider.get(DisposableRegisterLazyService.class);
+        assertSame(service1, testProvider.get(DisposableRegisterLazyService.class));
+        Mockito.verify(service1, Mockito.timeout(5_000).times(1)).dispose(mockContext);
+
+        DisposableRegisterLazyService service2 = testProvider.get(DisposableRegisterLazyService.class);
+        assertNotSame(service1, service2);
+        assertEquals(2, createdServices.size());
+        testProvider.dispose();
+        Mockito.verify(service2, Mockito.timeout(5_000).times(1)).dispose(mockContext);
+        Mockito.verify(service1, Mockito.times(1)).dispose(mockContext);
+    }
+
+    @Test
+    public void registerExpiring_lazyGetAfterExpiry() throws Exception {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerExpiring(DisposableRegisterLazyService.class,
+                                () -> Mockito.mock(DisposableRegisterLazyService.class), 100));
+        ProviderValue<DisposableRegisterLazyService> lazyService =
+                testProvider.lazyGet(DisposableRegisterLazyService.class);
+        ProviderValue<DisposableRegisterLazyService> tryLazyService =
+                testProvider.tryLazyGet(DisposableRegisterLazyService.class);
+
+        DisposableRegisterLazyService service1 = lazyService.get();
+        assertSame(service1, tryLazyService.get());
+        Mockito.verify(service1, Mockito.timeout(5_000).times(1)).dispose(mockContext);
+
+        DisposableRegisterLazyService service2 = lazyService.get();
+        assertNotSame(service1, service2);
+        assertSame(service2, testProvider.get(DisposableRegisterLazyService.class));
+        assertSame(service2, tryLazyService.get());
+        testProvider.dispose();
+    }
+
+    @Test
+    public void registerReclaimable_lazyGetAfterTrimMemory() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerReclaimable(DisposableRegisterLazyService.class,
+                                () -> Mockito.mock(DisposableRegisterLazyService.class), true));
+        ProviderValue<DisposableRegisterLazyService> lazyService =
+                testProvider.lazyGet(DisposableRegisterLazyService.class);
+
+        DisposableRegisterLazyService service1 = lazyService.get();
+        // TRIM_MEMORY_COMPLETE
+        testProvider.trimMemory(80);
+        Mockito.verify(service1, Mockito.times(1)).dispose(mockContext);
+
+        DisposableRegisterLazyService service2 = lazyService.get();
+        assertNotSame(service1, service2);
+        assertSame(service2, testProvider.get(DisposableRegisterLazyService.class));
+        testProvider.dispose();
+    }
+
+    @Test
+    public void registerReclaimable_trimMemory() throws Exception {
+        List<DisposableRegisterLazyService> createdServices = new ArrayList<>();
+        DisposableRegisterService trimmableService = Mockito.mock(DisposableRegisterService.class,
+                Mockito.withSettings().extraInterfaces(ProviderTrimmable.class));
+        DisposableRegisterAsyncService reclaimableService = Mockito.mock(DisposableRegisterAsyncService.class);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(DisposableRegisterService.class, () -> trimmableService);
+                    providerRegistry.registerReclaimable(DisposableRegisterLazyService.class, () -> {
+                        DisposableRegisterLazyService service = Mockito.mock(DisposableRegisterLazyService.class);
+                        createdServices.add(service);
+                        return service;
+                    }, false);
+                    providerRegistry.registerReclaimable(DisposableRegisterAsyncService.class,
+                            () -> reclaimableService, true);
+                });
+
+        DisposableRegisterLazyService lazyService = testProvider.get(DisposableRegisterLazyService.class);
+        Thread.sleep(1);
+        testProvider.get(DisposableRegisterAsyncService.class);
+        // TRIM_MEMORY_RUNNING_MODERATE
+        testProvider.trimMemory(5);
+        Mockito.verify((ProviderTrimmable) trimmableService).onTrimMemory(5);
+        assertSame(lazyService, testProvider.get(DisposableRegisterLazyService.class));
+
+        // TRIM_MEMORY_RUNNING_LOW, the least recently used half
+        testProvider.trimMemory(10);
+        Mockito.verify(lazyService, Mockito.never()).dispose(mockContext);
+        Mockito.verify(reclaimableService, Mockito.times(1)).dispose(mockContext);
+
+        // TRIM_MEMORY_COMPLETE
+        testProvider.trimMemory(80);
+        Mockito.verify(lazyService, Mockito.times(1)).dispose(mockContext);
+        Mockito.verify(trimmableService, Mockito.never()).dispose(mockContext);
+        assertNotSame(lazyService, testProvider.get(DisposableRegisterLazyService.class));
+        assertEquals(2, createdServices.size());
+    }
+
+    @Test
+    public void registerAsync_startAfterDependencies() throws Exception {
+        CountDownLatch serviceALatch = new CountDownLatch(1);
+        List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        Provider testProvider = new DefaultProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(IServiceB.class, () -> {
+                        loadOrder.add("B");
+                        return new ServiceBImpl(provider.get(IServiceA.class));
+                    }, IServiceA.class);
+                    providerRegistry.registerAsync(IServiceA.class, () -> {
+                        try {
+                            serviceALatch.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        loadOrder.add("A");
+                        return new ServiceAImpl();
+                    });
+                    providerRegistry.registerAsync(MyPojo.class, () -> {
+                        loadOrder.add("MyPojo");
+                        return new MyPojo();
+                    });
+                }, executorService);
+
+        // independent registration is not held back by the chain
+        assertNotNull(testProvider.get(MyPojo.class));
+        assertEquals(Collections.singletonList("MyPojo"), loadOrder);
+        serviceALatch.countDown();
+        assertNotNull(testProvider.get(IServiceB.class));
+        assertEquals(Arrays.asList("MyPojo", "A", "B"), loadOrder);
+        executorService.shutdown();
+    }
+
+    @Test
+    public void registerAsync_getWaitsForDependencies() throws Exception {
+        CountDownLatch serviceALatch = new CountDownLatch(1);
+        List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        Provider testProvider = new DefaultProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(IServiceB.class, () -> {
+                        loadOrder.add("B");
+                        return new ServiceBImpl(provider.get(IServiceA.class));
+                    }, IServiceA.class);
+                    providerRegistry.registerAsync(IServiceA.class, () -> {
+                        try {
+                            serviceALatch.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        loadOrder.add("A");
+                        return new ServiceAImpl();
+                    });
+                }, executorService);
+
+        Future<IServiceB> serviceB = executorService.submit(() -> testProvider.get(IServiceB.class));
+        Thread.sleep(100);
+        assertTrue(loadOrder.isEmpty());
+        serviceALatch.countDown();
+        assertNotNull(serviceB.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("A", "B"), loadOrder);
+        executorService.shutdown();
+    }
+
+    @Test
+    public void registerAsync_timedGetWaitsForDependencies() throws Exception {
+        CountDownLatch serviceALatch = new CountDownLatch(1);
+        List<String> loadOrder = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        Provider testProvider = new DefaultProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(IServiceB.class, () -> {
+                        loadOrder.add("B");
+                        return new ServiceBImpl(provider.get(IServiceA.class));
+                    }, IServiceA.class);
+                    providerRegistry.registerAsync(IServiceA.class, () -> {
+                        try {
+                            serviceALatch.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        loadOrder.add("A");
+                        return new ServiceAImpl();
+                    });
+                }, executorService);
+
+        assertThrows(TimeoutException.class,
+                () -> testProvider.get(IServiceB.class, 100, TimeUnit.MILLISECONDS));
+        assertTrue(loadOrder.isEmpty());
+        serviceALatch.countDown();
+        assertNotNull(testProvider.get(IServiceB.class, 5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("A", "B"), loadOrder);
+        executorService.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerAsync_circularDependencies() {
+        Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(IServiceA.class, ServiceAImpl::new, IServiceB.class);
+                    providerRegistry.registerAsync(IServiceB.class,
+                            () -> new ServiceBImpl(provider.get(IServiceA.class)), IServiceA.class);
+                });
+    }
+
+    @Test
+    public void registerAsync_runQueuedValueInline() throws Exception {
+        // single thread, async value retrieving another async value queued behind it
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch blockingLatch = new CountDownLatch(1);
+        executorService.execute(() -> {
+            try {
+                blockingLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Provider testProvider = new DefaultProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerAsync(IServiceB.class,
+                            () -> new ServiceBImpl(provider.get(IServiceA.class)));
+                    providerRegistry.registerAsync(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerAsync(MyPojo.class, MyPojo::new);
+                }, executorService);
+
+        // executor is still busy, not started value is loaded by the caller
+        assertNotNull(testProvider.get(MyPojo.class));
+        blockingLatch.countDown();
+        Future<IServiceB> serviceB = executorService.submit(() -> testProvider.get(IServiceB.class));
+        assertNotNull(serviceB.get(5, TimeUnit.SECONDS));
+        assertSame(serviceB.get(), testProvider.get(IServiceB.class));
+        executorService.shutdown();
+    }
+
+    @Test
+    public void timelineRecorder_recordCreation() {
+        ProviderTimelineRecorder timelineRecorder = new ProviderTimelineRecorder();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setTimelineRecorder(timelineRecorder);
+                    providerRegistry.register(MyPojo.class, MyPojo::new);
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerLazy(IServiceB.class,
+                            () -> new ServiceBImpl(provider.get(IServiceA.class)));
+                });
+        testProvider.get(IServiceB.class);
+
+        List<ProviderTimelineRecorder.Entry> entries = timelineRecorder.getEntries();
+        assertEquals(4, entries.size());
+        assertEquals(MyPojo.class.getName(), entries.get(0).getName());
+        assertSame(ProviderRegisterKind.SINGLETON, entries.get(0).getKind());
+        assertEquals("DefaultProvider.start", entries.get(1).getName());
+        assertNull(entries.get(1).getKind());
+        // dependency finishes first
+        assertEquals(IServiceA.class.getName(), entries.get(2).getName());
+        ProviderTimelineRecorder.Entry serviceBEntry = entries.get(3);
+        assertEquals(IServiceB.class.getName(), serviceBEntry.getName());
+        assertSame(ProviderRegisterKind.LAZY, serviceBEntry.getKind());
+        assertEquals(Collections.singletonList(IServiceA.class.getName()), serviceBEntry.getResolvedTypes());
+        assertTrue(serviceBEntry.getDurationNanos() >= entries.get(2).getDurationNanos());
+
+        String chromeTrace = timelineRecorder.toChromeTrace();
+        assertTrue(chromeTrace.startsWith("{\"traceEvents\":["));
+        assertTrue(chromeTrace.contains("\"name\":\"" + IServiceB.class.getName() + "\",\"cat\":\"LAZY\",\"ph\":\"X\""));
+    }
+
+    @Test
+    public void timelineRecorder_chromeTraceBeforeRecorderCreated() {
+        ProviderTimelineRecorder timelineRecorder = new ProviderTimelineRecorder();
+        long nowNanos = System.nanoTime();
+        timelineRecorder.record("before", nowNanos - 10_000_001_500L, nowNanos - 10_000_000_000L);
+
+        assertTrue(timelineRecorder.getEntries().get(0).getStartNanos() < 0);
+        String chromeTrace = timelineRecorder.toChromeTrace();
+        assertTrue(chromeTrace.matches("(?s).*\"ts\":-\\d+\\.\\d{3},\"dur\":1\\.500,.*"));
+    }
+
+    @Test
+    public void providerListener_resolveCreateDispose() {
+        ProviderListener providerListener = Mockito.mock(ProviderListener.class);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setProviderListener(providerListener);
+                    providerRegistry.registerLazy(DisposableRegisterLazyService.class,
+                            () -> Mockito.mock(DisposableRegisterLazyService.class));
+                });
+
+        testProvider.get(DisposableRegisterLazyService.class);
+        testProvider.get(DisposableRegisterLazyService.class);
+        assertNull(testProvider.tryGet(IServiceA.class));
+        Mockito.verify(providerListener, Mockito.times(2))
+                .onResolve(eq(DisposableRegisterLazyService.class), eq(true), Mockito.anyLong());
+        Mockito.verify(providerListener)
+                .onResolve(eq(IServiceA.class), eq(false), Mockito.anyLong());
+        Mockito.verify(providerListener, Mockito.times(1))
+                .onCreate(eq(DisposableRegisterLazyService.class), eq(ProviderRegisterKind.LAZY), Mockito.anyLong());
+
+        testProvider.dispose();
+        Mockito.verify(providerListener, Mockito.timeout(5_000))
+                .onDispose(eq(DisposableRegisterLazyService.class), Mockito.anyLong());
+    }
+
+    @Test
+    public void metrics_countLookupsAndCreation() {
+        ProviderMetrics metrics = new ProviderMetrics();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setMetrics(metrics);
+                    providerRegistry.registerLazy(ServiceAImpl.class, ServiceAImpl::new);
+                    providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+                });
+
+        testProvider.get(ServiceAImpl.class);
+        testProvider.get(ServiceAImpl.class);
+        testProvider.get(IServiceA.class);
+        testProvider.get(MyPojo.class);
+        testProvider.get(MyPojo.class);
+        assertNull(testProvider.tryGet(IServiceB.class));
+
+        ProviderMetrics.Snapshot snapshot = metrics.snapshot();
+        ProviderMetrics.TypeStats serviceAStats = snapshot.getTypeStats(ServiceAImpl.class);
+        assertEquals(2, serviceAStats.getHits());
+        assertEquals(2, serviceAStats.getResolvePathCount(ProviderMetrics.ResolvePath.EXACT));
+        ProviderMetrics.TypeStats interfaceStats = snapshot.getTypeStats(IServiceA.class);
+        assertEquals(1, interfaceStats.getHits());
+        assertEquals(1, interfaceStats.getResolvePathCount(ProviderMetrics.ResolvePath.ASSIGNABLE));
+        assertEquals(0, interfaceStats.getResolvePathCount(ProviderMetrics.ResolvePath.EXACT));
+        ProviderMetrics.TypeStats missStats = snapshot.getTypeStats(IServiceB.class);
+        assertEquals(0, missStats.getHits());
+        assertEquals(1, missStats.getMisses());
+        assertEquals(1, snapshot.getConstructionLatency().get(ProviderRegisterKind.LAZY).getCount());
+        ProviderMetrics.Histogram factoryHistogram = snapshot.getConstructionLatency().get(ProviderRegisterKind.FACTORY);
+        // the IServiceB miss probes the factory instance
+        assertEquals(3, factoryHistogram.getCount());
+        long bucketTotal = 0;
+        for (long bucketCount : factoryHistogram.getBucketCounts()) {
+            bucketTotal += bucketCount;
+        }
+        assertEquals(3, bucketTotal);
+        assertTrue(snapshot.toString().contains(ServiceAImpl.class.getName() + " hits=2"));
+    }
+
+    @Test
+    public void metrics_recordMonitorWait() throws Exception {
+        ProviderMetrics metrics = new ProviderMetrics();
+        CountDownLatch creatingLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.setMetrics(metrics);
+                    providerRegistry.registerLazy(MyPojo.class, () -> {
+                        creatingLatch.countDown();
+                        try {
+                            releaseLatch.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        return new MyPojo();
+                    });
+                });
+        Thread creatingThread = new Thread(() -> testProvider.get(MyPojo.class));
+        creatingThread.start();
+        creatingLatch.await();
+        Thread waitingThread = new Thread(() -> testProvider.get(MyPojo.class));
+        waitingThread.start();
+        // let the waiting thread reach the monitor
+        while (waitingThread.getState() != Thread.State.BLOCKED && waitingThread.isAlive()) {
+            Thread.sleep(1);
+        }
+        releaseLatch.countDown();
+        creatingThread.join();
+        waitingThread.join();
+
+        ProviderMetrics.Histogram monitorWait = metrics.snapshot().getMonitorWait().get(ProviderRegisterKind.LAZY);
+        assertEquals(2, monitorWait.getCount());
+        assertEquals(2, metrics.snapshot().getTypeStats(MyPojo.class).getHits());
+    }
+
+    @Test
+    public void executorConfig_runAsyncOnDedicatedPool() throws Exception {
+        AtomicReference<Thread> asyncThread = new AtomicReference<>();
+        CountDownLatch asyncLatch = new CountDownLatch(1);
+        DisposableRegisterService registerService = Mockito.mock(DisposableRegisterService.class);
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.register(DisposableRegisterService.class, () -> registerService);
+                    providerRegistry.registerAsync(MyPojo.class, () -> {
+                        asyncThread.set(Thread.currentThread());
+                        asyncLatch.countDown();
+                        return new MyPojo();
+                    });
+                },
+                new ProviderExecutorConfig()
+                        .setMaxConcurrency(1)
+                        .setThreadName("feature")
+                        .setAsyncInitPriority(Thread.MIN_PRIORITY));
+
+        assertTrue(asyncLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("feature-async-1", asyncThread.get().getName());
+        assertEquals(Thread.MIN_PRIORITY, asyncThread.get().getPriority());
+        assertNotNull(testProvider.get(MyPojo.class));
+        testProvider.dispose();
+        Mockito.verify(registerService, Mockito.timeout(5_000)).dispose(mockContext);
+    }
+
+    @Test
+    public void getAsync_completeOnceAsyncInitDone() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        MyPojo myPojo = new MyPojo();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerAsync(MyPojo.class, () -> {
+                        try {
+                            releaseLatch.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        return myPojo;
+                    });
+                });
+        CountDownLatch completedLatch = new CountDownLatch(1);
+        AtomicReference<MyPojo> completedValue = new AtomicReference<>();
+
+        ProviderFuture<MyPojo> future = testProvider.getAsync(MyPojo.class);
+        future.whenComplete((value, throwable) -> {
+            completedValue.set(value);
+            completedLatch.countDown();
+        });
+        assertFalse(future.isDone());
+        assertNull(future.getNow());
+        releaseLatch.countDown();
+        assertTrue(completedLatch.await(5, TimeUnit.SECONDS));
+        assertSame(myPojo, completedValue.get());
+        assertSame(myPojo, future.getNow());
+
+        testProvider.get(IServiceA.class);
+        ProviderFuture<IServiceA> lazyFuture = testProvider.getAsync(IServiceA.class);
+        assertTrue(lazyFuture.isDone());
+        assertSame(testProvider.get(IServiceA.class), lazyFuture.getNow());
+    }
+
+    @Test
+    public void getAsync_createOnExecutor() throws Exception {
+        Thread testThread = Thread.currentThread();
+        AtomicReference<Thread> creatingThread = new AtomicReference<>();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerLazy(IServiceA.class, () -> {
+                            creatingThread.set(Thread.currentThread());
+                            return new ServiceAImpl();
+                        }));
+        CountDownLatch completedLatch = new CountDownLatch(2);
+
+        ProviderFuture<IServiceA> lazyFuture = testProvider.getAsync(IServiceA.class);
+        lazyFuture.whenComplete((value, throwable) -> completedLatch.countDown());
+        ProviderFuture<IServiceB> notFoundFuture = testProvider.getAsync(IServiceB.class);
+        notFoundFuture.whenComplete((value, throwable) -> completedLatch.countDown());
+
+        assertTrue(completedLatch.await(5, TimeUnit.SECONDS));
+        assertNotSame(testThread, creatingThread.get());
+        assertSame(testProvider.get(IServiceA.class), lazyFuture.getNow());
+        assertTrue(notFoundFuture.getThrowable() instanceof ProviderNullPointerException);
+    }
+
+    @Test
+    public void getWithTimeout_throwWhenAsyncInitNotDone() throws Exception {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        MyPojo myPojo = new MyPojo();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerAsync(MyPojo.class, () -> {
+                        try {
+                            releaseLatch.await();
+                        } catch (InterruptedException e) {
+                            throw new RuntimeException(e);
+                        }
+                        return myPojo;
+                    });
+                });
+
+        assertThrows(TimeoutException.class, () -> testProvider.get(MyPojo.class, 10, TimeUnit.MILLISECONDS));
+        assertNull(testProvider.peek(MyPojo.class));
+        releaseLatch.countDown();
+        assertSame(myPojo, testProvider.get(MyPojo.class, 5, TimeUnit.SECONDS));
+        assertSame(myPojo, testProvider.peek(MyPojo.class));
+        assertNotNull(testProvider.get(IServiceA.class, 0, TimeUnit.MILLISECONDS));
+        assertThrows(ProviderNullPointerException.class,
+                () -> testProvider.get(IServiceB.class, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void peek_returnOnlyCreatedValue() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) -> {
+                    providerRegistry.registerLazy(IServiceA.class, ServiceAImpl::new);
+                    providerRegistry.registerFactory(MyPojo.class, MyPojo::new);
+                });
+
+        assertNull(testProvider.peek(IServiceA.class));
+        IServiceA serviceA = testProvider.get(IServiceA.class);
+        assertSame(serviceA, testProvider.peek(IServiceA.class));
+        testProvider.get(MyPojo.class);
+        assertNull(testProvider.peek(MyPojo.class));
+        assertNull(testProvider.peek(IServiceB.class));
+    }
+
+    @Test
+    public void peek_afterDisposeReturnsNull() {
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.register(IServiceA.class, ServiceAImpl::new));
+        assertNotNull(testProvider.peek(IServiceA.class));
+        testProvider.dispose();
+
+        assertNull(testProvider.peek(IServiceA.class));
+        assertNull(testProvider.peek(Runnable.class));
+    }
+
+    @Test
+    public void peek_missNeverCreatesValue() {
+        AtomicInteger factoryCount = new AtomicInteger();
+        Provider testProvider = Provider.createProvider(mockContext,
+                (providerRegistry, provider) ->
+                        providerRegistry.registerFactory(MyPojo.class, () -> {
+                            factoryCount.incrementAndGet();
+                            return new MyPojo();
+                        }));
+
+        assertNull(testProvider.peek(Runnable.class));
+        assertNull(testProvider.peek(Runnable.class));
+        assertNull(testProvider.peek(MyPojo.class));
+        assertEquals(0, factoryCount.get());
+    }
+}